@@ -0,0 +1,31 @@
+package com.dornach.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar: JMH's own command line, with JSON results
+ * written to jmh-result.json unless -rf or -rff say otherwise.
+ *
+ * Typical runs:
+ * java -jar benchmarks/target/benchmarks.jar                  (everything)
+ * java -jar benchmarks/target/benchmarks.jar Serialization    (one suite)
+ * java -jar benchmarks/target/benchmarks.jar -l               (list them)
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>();
+        List<String> given = List.of(args);
+        if (!given.contains("-rf")) {
+            arguments.addAll(List.of("-rf", "json"));
+        }
+        if (!given.contains("-rff")) {
+            arguments.addAll(List.of("-rff", "jmh-result.json"));
+        }
+        arguments.addAll(given);
+        org.openjdk.jmh.Main.main(arguments.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,64 @@
+package com.dornach.benchmarks;
+
+import com.dornach.order.domain.Order;
+import com.dornach.order.dto.OrderResponse;
+import com.dornach.shipment.domain.Shipment;
+import com.dornach.shipment.dto.ShipmentResponse;
+import com.dornach.shipment.tracking.TrackingNumbers;
+import com.dornach.user.domain.User;
+import com.dornach.user.domain.UserRole;
+import com.dornach.user.dto.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response record mappers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    private Order order;
+    private Shipment shipment;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        order = new Order(UUID.randomUUID(), "Ergonomic keyboard", 2, new BigDecimal("149.90"),
+                "12 rue de la Paix, 75002 Paris");
+        shipment = new Shipment(UUID.randomUUID(), TrackingNumbers.format(1), "Alice Martin",
+                "12 rue de la Paix, 75002 Paris");
+        user = new User("alice.martin@dornach.com", "Alice", "Martin", UserRole.EMPLOYEE);
+    }
+
+    @Benchmark
+    public OrderResponse orderResponse() {
+        return OrderResponse.from(order);
+    }
+
+    @Benchmark
+    public ShipmentResponse shipmentResponse() {
+        return ShipmentResponse.from(shipment);
+    }
+
+    @Benchmark
+    public UserResponse userResponse() {
+        return UserResponse.from(user);
+    }
+}
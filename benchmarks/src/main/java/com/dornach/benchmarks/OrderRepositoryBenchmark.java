@@ -0,0 +1,160 @@
+package com.dornach.benchmarks;
+
+import com.dornach.order.OrderServiceApplication;
+import com.dornach.order.domain.Order;
+import com.dornach.order.domain.OrderStatus;
+import com.dornach.order.dto.OrderFilter;
+import com.dornach.order.dto.OrderResponse;
+import com.dornach.order.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderRepository reads and writes against order-service's embedded H2,
+ * pre-loaded with {@code rows} orders spread over 100 users and the five
+ * statuses. The outbox dispatcher is switched off; nothing in here calls
+ * other services.
+ *
+ * The filtered listing is compared with the entity finders it replaced:
+ *
+ * - findByUserId / findByStatus: every matching order loaded as a managed
+ *   entity (rows / 100 and rows / 5 of them)
+ * - searchByUser / searchByStatus: OrderSearchRepository.search with the
+ *   same filter, first page of 50 DTOs as served by GET /orders
+ * - searchByUserAll: the same search without a page limit, so the projection
+ *   and the entity path read the same rows
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderRepositoryBenchmark {
+
+    private static final int USERS = 100;
+    private static final int PAGE_SIZE = 50;
+    private static final int LOAD_CHUNK = 10_000;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Param({"10000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository repository;
+    private List<UUID> ids;
+    private List<UUID> userIds;
+
+    @Setup
+    public void setUp() {
+        context = ServiceContexts.start(OrderServiceApplication.class, "order-service",
+                "orders.outbox.dispatcher.enabled=false");
+        repository = context.getBean(OrderRepository.class);
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        userIds = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(UUID.randomUUID());
+        }
+        // Loaded in chunks, clearing the persistence context after each one, so
+        // a million rows do not all stay managed at once
+        ids = new ArrayList<>(rows);
+        for (int start = 0; start < rows; start += LOAD_CHUNK) {
+            List<Order> orders = new ArrayList<>(LOAD_CHUNK);
+            for (int i = start; i < Math.min(rows, start + LOAD_CHUNK); i++) {
+                Order order = newOrder(userIds.get(i % USERS));
+                order.setStatus(STATUSES[i % STATUSES.length]);
+                orders.add(order);
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Order order : repository.saveAll(orders)) {
+                    ids.add(order.getId());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private static Order newOrder(UUID userId) {
+        return new Order(userId, "Ergonomic keyboard", 2, new BigDecimal("149.90"),
+                "12 rue de la Paix, 75002 Paris");
+    }
+
+    @Benchmark
+    public Optional<Order> findById() {
+        return repository.findById(pick(ids));
+    }
+
+    @Benchmark
+    public Optional<OrderResponse> findResponseById() {
+        return repository.findResponseById(pick(ids));
+    }
+
+    private static UUID pick(List<UUID> from) {
+        return from.get(ThreadLocalRandom.current().nextInt(from.size()));
+    }
+
+    private static OrderStatus pickStatus() {
+        return STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)];
+    }
+
+    @Benchmark
+    public List<Order> findByUserId() {
+        return repository.findByUserId(pick(userIds));
+    }
+
+    @Benchmark
+    public List<OrderResponse> searchByUser() {
+        return repository.search(new OrderFilter(pick(userIds), null, null, null), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<OrderResponse> searchByUserAll() {
+        return repository.search(new OrderFilter(pick(userIds), null, null, null), null, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Order> findByStatus() {
+        return repository.findByStatus(pickStatus());
+    }
+
+    @Benchmark
+    public List<OrderResponse> searchByStatus() {
+        return repository.search(new OrderFilter(null, pickStatus(), null, null), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Order save() {
+        return repository.save(newOrder(pick(userIds)));
+    }
+}
@@ -0,0 +1,143 @@
+package com.dornach.benchmarks;
+
+import com.dornach.order.OrderServiceApplication;
+import com.dornach.order.domain.Order;
+import com.dornach.order.domain.OrderStatus;
+import com.dornach.order.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status transitions from 8 threads on the same {@code hotOrders} orders,
+ * each in its own transaction:
+ *
+ * - loadCheckSave: the path replaced by the conditional UPDATEs. The order is
+ *   loaded, its status checked in Java and the change flushed at commit.
+ *   Concurrent transitions can overwrite each other.
+ * - loadCheckSaveLocked: the same, loading with SELECT ... FOR UPDATE, the
+ *   cheapest way to make that path correct
+ * - conditionalUpdate: OrderRepository.transition, one UPDATE ... WHERE
+ *   status = ? whose row count says whether it applied
+ *
+ * Each operation flips an order between PENDING and CONFIRMED, so the
+ * transitions can run indefinitely; only the statements matter here. Failed
+ * transactions (lock timeouts, concurrent update errors) are counted in
+ * {@code failures}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class OrderTransitionBenchmark {
+
+    @Param({"1", "16", "1024"})
+    private int hotOrders;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository repository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private List<UUID> ids;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Failures {
+        public long failures;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            failures = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        context = ServiceContexts.start(OrderServiceApplication.class, "order-service",
+                "orders.outbox.dispatcher.enabled=false");
+        repository = context.getBean(OrderRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Order> orders = new ArrayList<>(hotOrders);
+        for (int i = 0; i < hotOrders; i++) {
+            orders.add(new Order(UUID.randomUUID(), "Ergonomic keyboard", 2, new BigDecimal("149.90"),
+                    "12 rue de la Paix, 75002 Paris"));
+        }
+        ids = new ArrayList<>(hotOrders);
+        for (Order order : repository.saveAll(orders)) {
+            ids.add(order.getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private UUID pick() {
+        return ids.get(ThreadLocalRandom.current().nextInt(hotOrders));
+    }
+
+    @Benchmark
+    public void loadCheckSave(Failures failures) {
+        run(failures, () -> flip(repository.findById(pick()).orElseThrow()));
+    }
+
+    @Benchmark
+    public void loadCheckSaveLocked(Failures failures) {
+        run(failures, () -> flip(entityManager.find(Order.class, pick(), LockModeType.PESSIMISTIC_WRITE)));
+    }
+
+    @Benchmark
+    public void conditionalUpdate(Failures failures) {
+        run(failures, () -> {
+            UUID id = pick();
+            Instant now = Instant.now();
+            if (repository.transition(id, OrderStatus.PENDING, OrderStatus.CONFIRMED, now) == 0) {
+                repository.transition(id, OrderStatus.CONFIRMED, OrderStatus.PENDING, now);
+            }
+        });
+    }
+
+    private static void flip(Order order) {
+        order.setStatus(order.getStatus() == OrderStatus.PENDING ? OrderStatus.CONFIRMED : OrderStatus.PENDING);
+    }
+
+    private void run(Failures failures, Runnable transition) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> transition.run());
+        } catch (DataAccessException e) {
+            failures.failures++;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.dornach.benchmarks;
+
+import com.dornach.order.domain.OrderStatus;
+import com.dornach.order.dto.OrderResponse;
+import com.dornach.shipment.domain.ShipmentStatus;
+import com.dornach.shipment.dto.ShipmentResponse;
+import com.dornach.user.domain.UserRole;
+import com.dornach.user.domain.UserStatus;
+import com.dornach.user.dto.UserResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response records, one at a time and as lists
+ * of {@code size} elements, in JSON and in the CBOR used between services.
+ * Mappers are built the way Boot builds the services' own.
+ *
+ * Users and shipments are also read back, in both formats, into the records
+ * order-service's clients deserialize them into. The encoded size of every
+ * payload in both formats is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+
+    private OrderResponse order;
+    private ShipmentResponse shipment;
+    private UserResponse user;
+    private List<OrderResponse> orders;
+    private List<ShipmentResponse> shipments;
+    private List<UserResponse> users;
+
+    private ObjectReader orderListReader;
+    private ObjectReader orderListCborReader;
+    private byte[] orderListJson;
+    private byte[] orderListCbor;
+
+    // Readers on order-service's side of the user-service and shipment-service calls
+    private ObjectReader userJsonReader;
+    private ObjectReader userCborReader;
+    private ObjectReader userListJsonReader;
+    private ObjectReader userListCborReader;
+    private ObjectReader shipmentJsonReader;
+    private ObjectReader shipmentCborReader;
+    private ObjectReader shipmentListJsonReader;
+    private ObjectReader shipmentListCborReader;
+    private byte[] userJson;
+    private byte[] userCbor;
+    private byte[] userListJson;
+    private byte[] userListCbor;
+    private byte[] shipmentJson;
+    private byte[] shipmentCbor;
+    private byte[] shipmentListJson;
+    private byte[] shipmentListCbor;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Boot's defaults (JacksonAutoConfiguration): ISO-8601 dates, unknown properties ignored
+        json = bootDefaults().build();
+        cbor = bootDefaults().factory(new CBORFactory()).build();
+
+        Instant now = Instant.now();
+        orders = new ArrayList<>(size);
+        shipments = new ArrayList<>(size);
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            orders.add(new OrderResponse(UUID.randomUUID(), UUID.randomUUID(), "Ergonomic keyboard", 2,
+                    new BigDecimal("149.90"), "12 rue de la Paix, 75002 Paris", OrderStatus.SHIPPED,
+                    "TRK-" + i, now, now));
+            shipments.add(new ShipmentResponse(UUID.randomUUID(), UUID.randomUUID(), "TRK-" + i,
+                    "Alice Martin", "12 rue de la Paix, 75002 Paris", ShipmentStatus.IN_TRANSIT, now, now));
+            users.add(new UserResponse(UUID.randomUUID(), "user" + i + "@dornach.com", "Alice", "Martin",
+                    UserRole.EMPLOYEE, UserStatus.ACTIVE, now, now));
+        }
+        order = orders.get(0);
+        shipment = shipments.get(0);
+        user = users.get(0);
+
+        orderListReader = json.readerForListOf(OrderResponse.class);
+        orderListJson = json.writeValueAsBytes(orders);
+        orderListCborReader = cbor.readerForListOf(OrderResponse.class);
+        orderListCbor = cbor.writeValueAsBytes(orders);
+
+        userJsonReader = json.readerFor(com.dornach.order.dto.UserResponse.class);
+        userCborReader = cbor.readerFor(com.dornach.order.dto.UserResponse.class);
+        userListJsonReader = json.readerForListOf(com.dornach.order.dto.UserResponse.class);
+        userListCborReader = cbor.readerForListOf(com.dornach.order.dto.UserResponse.class);
+        shipmentJsonReader = json.readerFor(com.dornach.order.dto.ShipmentResponse.class);
+        shipmentCborReader = cbor.readerFor(com.dornach.order.dto.ShipmentResponse.class);
+        shipmentListJsonReader = json.readerForListOf(com.dornach.order.dto.ShipmentResponse.class);
+        shipmentListCborReader = cbor.readerForListOf(com.dornach.order.dto.ShipmentResponse.class);
+        userJson = json.writeValueAsBytes(user);
+        userCbor = cbor.writeValueAsBytes(user);
+        userListJson = json.writeValueAsBytes(users);
+        userListCbor = cbor.writeValueAsBytes(users);
+        shipmentJson = json.writeValueAsBytes(shipment);
+        shipmentCbor = cbor.writeValueAsBytes(shipment);
+        shipmentListJson = json.writeValueAsBytes(shipments);
+        shipmentListCbor = cbor.writeValueAsBytes(shipments);
+
+        System.out.printf("%n%-14s %10s %10s%n", "payload bytes", "json", "cbor");
+        printSizes("order", order);
+        printSizes("shipment", shipment);
+        printSizes("user", user);
+        printSizes("orderList", orders);
+        printSizes("shipmentList", shipments);
+        printSizes("userList", users);
+    }
+
+    private void printSizes(String payload, Object value) throws JsonProcessingException {
+        int jsonBytes = json.writeValueAsBytes(value).length;
+        int cborBytes = cbor.writeValueAsBytes(value).length;
+        System.out.printf("%-14s %10d %10d (%.0f%%)%n", payload, jsonBytes, cborBytes, 100.0 * cborBytes / jsonBytes);
+    }
+
+    private static Jackson2ObjectMapperBuilder bootDefaults() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] orderJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] shipmentJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(shipment);
+    }
+
+    @Benchmark
+    public byte[] userJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] orderListJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] shipmentListJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(shipments);
+    }
+
+    @Benchmark
+    public byte[] userListJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] orderListCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] shipmentCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(shipment);
+    }
+
+    @Benchmark
+    public byte[] userCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] shipmentListCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(shipments);
+    }
+
+    @Benchmark
+    public byte[] userListCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public List<OrderResponse> orderListJsonRead() throws IOException {
+        return orderListReader.readValue(orderListJson);
+    }
+
+    @Benchmark
+    public List<OrderResponse> orderListCborRead() throws IOException {
+        return orderListCborReader.readValue(orderListCbor);
+    }
+
+    @Benchmark
+    public com.dornach.order.dto.ShipmentResponse shipmentJsonRead() throws IOException {
+        return shipmentJsonReader.readValue(shipmentJson);
+    }
+
+    @Benchmark
+    public com.dornach.order.dto.ShipmentResponse shipmentCborRead() throws IOException {
+        return shipmentCborReader.readValue(shipmentCbor);
+    }
+
+    @Benchmark
+    public com.dornach.order.dto.UserResponse userJsonRead() throws IOException {
+        return userJsonReader.readValue(userJson);
+    }
+
+    @Benchmark
+    public com.dornach.order.dto.UserResponse userCborRead() throws IOException {
+        return userCborReader.readValue(userCbor);
+    }
+
+    @Benchmark
+    public List<com.dornach.order.dto.ShipmentResponse> shipmentListJsonRead() throws IOException {
+        return shipmentListJsonReader.readValue(shipmentListJson);
+    }
+
+    @Benchmark
+    public List<com.dornach.order.dto.ShipmentResponse> shipmentListCborRead() throws IOException {
+        return shipmentListCborReader.readValue(shipmentListCbor);
+    }
+
+    @Benchmark
+    public List<com.dornach.order.dto.UserResponse> userListJsonRead() throws IOException {
+        return userListJsonReader.readValue(userListJson);
+    }
+
+    @Benchmark
+    public List<com.dornach.order.dto.UserResponse> userListCborRead() throws IOException {
+        return userListCborReader.readValue(userListCbor);
+    }
+}
@@ -0,0 +1,36 @@
+package com.dornach.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots a service's application context, without its web server, against its
+ * own application.yaml (copied to classpath:/&lt;service&gt;/ by the build) and
+ * a private embedded H2 database.
+ */
+final class ServiceContexts {
+
+    private ServiceContexts() {}
+
+    /**
+     * @param properties extra settings as key=value; like the fixed ones they
+     *                   are passed as command-line arguments so that they win
+     *                   over the service's application.yaml
+     */
+    static ConfigurableApplicationContext start(Class<?> application, String service, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "spring.config.location=classpath:/" + service + "/application.yaml",
+                "spring.datasource.url=jdbc:h2:mem:" + service + "-benchmark",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN"));
+        args.addAll(List.of(properties));
+        return new SpringApplicationBuilder(application)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+    }
+}
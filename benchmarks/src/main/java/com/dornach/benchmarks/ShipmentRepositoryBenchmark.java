@@ -0,0 +1,104 @@
+package com.dornach.benchmarks;
+
+import com.dornach.shipment.ShipmentServiceApplication;
+import com.dornach.shipment.domain.Shipment;
+import com.dornach.shipment.dto.ShipmentResponse;
+import com.dornach.shipment.repository.ShipmentRepository;
+import com.dornach.shipment.tracking.TrackingNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ShipmentRepository reads and writes against shipment-service's embedded H2,
+ * pre-loaded with {@code rows} shipments.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShipmentRepositoryBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ShipmentRepository repository;
+    private TrackingNumberGenerator trackingNumberGenerator;
+    private List<UUID> ids;
+    private List<String> trackingNumbers;
+
+    @Setup
+    public void setUp() {
+        context = ServiceContexts.start(ShipmentServiceApplication.class, "shipment-service");
+        repository = context.getBean(ShipmentRepository.class);
+        trackingNumberGenerator = context.getBean(TrackingNumberGenerator.class);
+
+        List<Shipment> shipments = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            shipments.add(newShipment());
+        }
+        ids = new ArrayList<>(rows);
+        trackingNumbers = new ArrayList<>(rows);
+        for (Shipment shipment : repository.saveAll(shipments)) {
+            ids.add(shipment.getId());
+            trackingNumbers.add(shipment.getTrackingNumber());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private Shipment newShipment() {
+        return new Shipment(UUID.randomUUID(), trackingNumberGenerator.next(),
+                "Alice Martin", "12 rue de la Paix, 75002 Paris");
+    }
+
+    @Benchmark
+    public Optional<Shipment> findById() {
+        return repository.findById(ids.get(ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    @Benchmark
+    public Optional<ShipmentResponse> findResponseById() {
+        return repository.findResponseById(ids.get(ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    @Benchmark
+    public Optional<ShipmentResponse> findResponseByTrackingNumber() {
+        return repository.findResponseByTrackingNumber(
+                trackingNumbers.get(ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    @Benchmark
+    public List<ShipmentResponse> findFirstPage() {
+        return repository.findFirstPage(Limit.of(50));
+    }
+
+    @Benchmark
+    public Shipment save() {
+        return repository.save(newShipment());
+    }
+}
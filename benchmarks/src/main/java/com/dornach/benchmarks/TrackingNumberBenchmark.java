@@ -0,0 +1,55 @@
+package com.dornach.benchmarks;
+
+import com.dornach.shipment.tracking.SequenceTrackingNumberGenerator;
+import com.dornach.shipment.tracking.TrackingNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracking-number throughput, single-threaded and with 8 threads sharing one
+ * generator, against the former scheme (8 hex characters of a random UUID,
+ * drawn from the shared SecureRandom) as a baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrackingNumberBenchmark {
+
+    private final TrackingNumberGenerator generator = new SequenceTrackingNumberGenerator(1);
+
+    @Benchmark
+    public String sequence() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String sequenceContended() {
+        return generator.next();
+    }
+
+    @Benchmark
+    public String randomUuid() {
+        return "TRK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String randomUuidContended() {
+        return "TRK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+}
@@ -0,0 +1,66 @@
+package com.dornach.benchmarks;
+
+import com.dornach.shipment.tracking.SequenceTrackingNumberGenerator;
+import com.dornach.shipment.tracking.TrackingNumberGenerator;
+import com.dornach.shipment.tracking.TrackingNumbers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Draws tracking numbers from several generators at once, as several service
+ * instances with distinct node ids would, each shared by several threads, and
+ * checks that no number comes up twice and every check character is right.
+ *
+ * Keeps every value in memory (8 bytes each) and sorts them, so 100M numbers
+ * need about 2 GB of heap:
+ * java -Xmx3g -cp benchmarks/target/benchmarks.jar com.dornach.benchmarks.TrackingNumberCollisionCheck [count] [nodes] [threads per node]
+ */
+public final class TrackingNumberCollisionCheck {
+
+    private TrackingNumberCollisionCheck() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000_000;
+        int nodes = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int threadsPerNode = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        int workers = nodes * threadsPerNode;
+        long[] values = new long[count];
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int node = 0; node < nodes; node++) {
+            TrackingNumberGenerator generator = new SequenceTrackingNumberGenerator(node);
+            for (int t = 0; t < threadsPerNode; t++) {
+                int worker = node * threadsPerNode + t;
+                // Each worker fills its own slice of the array
+                int from = (int) ((long) count * worker / workers);
+                int to = (int) ((long) count * (worker + 1) / workers);
+                threads.add(Thread.ofPlatform().start(() -> {
+                    for (int i = from; i < to; i++) {
+                        values[i] = TrackingNumbers.parse(generator.next());
+                    }
+                }));
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.parallelSort(values);
+        long duplicates = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] == values[i - 1]) {
+                duplicates++;
+            }
+        }
+
+        System.out.printf("%,d tracking numbers from %d nodes x %d threads in %.1f s (%,.0f/s), %d duplicates%n",
+                count, nodes, threadsPerNode, elapsed / 1e9, count / (elapsed / 1e9), duplicates);
+        if (duplicates > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.dornach.benchmarks;
+
+import com.dornach.order.client.BatchingUserClient;
+import com.dornach.order.client.UserClient;
+import com.dornach.order.client.UserClientImpl;
+import com.dornach.order.dto.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * User lookups per second from 64 concurrent callers, one GET /users/{id}
+ * per lookup (UserClientImpl) against POST /users/lookup batches
+ * (BatchingUserClient with the default 5ms window and 100 ids).
+ *
+ * user-service is stood in for by a JDK HttpServer with a fixed capacity:
+ * {@code serverThreads} requests at a time, each taking {@code latencyMillis}
+ * whatever the number of ids it carries, the way a service bounded by its
+ * request threads and connection pool behaves. The number of HTTP calls per
+ * lookup is printed at the end of each trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class UserLookupBenchmark {
+
+    private static final int USERS = 10_000;
+
+    // UserClientImpl logs every call at INFO; held here so the level sticks
+    private static final Logger CLIENT_LOG = Logger.getLogger(UserClientImpl.class.getName());
+
+    @Param({"direct", "batching"})
+    private String client;
+
+    @Param({"8"})
+    private int serverThreads;
+
+    @Param({"2"})
+    private int latencyMillis;
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final AtomicLong httpCalls = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private UserClient userClient;
+    private List<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        CLIENT_LOG.setLevel(java.util.logging.Level.WARNING);
+        ids = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        serverExecutor = Executors.newFixedThreadPool(serverThreads);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(serverExecutor);
+        server.createContext("/users/lookup", exchange -> {
+            UUID[] requested = json.readValue(exchange.getRequestBody(), UUID[].class);
+            respond(exchange, Arrays.stream(requested).map(UserLookupBenchmark::user).toList());
+        });
+        server.createContext("/users/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            respond(exchange, user(UUID.fromString(path.substring(path.lastIndexOf('/') + 1))));
+        });
+        server.start();
+
+        RestClient restClient = RestClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .requestFactory(new JdkClientHttpRequestFactory(
+                        HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()))
+                .build();
+        userClient = client.equals("batching")
+                ? new BatchingUserClient(restClient, Duration.ofMillis(5), 100)
+                : new UserClientImpl(restClient);
+        httpCalls.set(0);
+        lookups.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (userClient instanceof BatchingUserClient batching) {
+            batching.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        System.out.printf("%n%s: %d lookups, %d HTTP calls (%.1f lookups per call)%n",
+                client, lookups.get(), httpCalls.get(), (double) lookups.get() / Math.max(1, httpCalls.get()));
+    }
+
+    private void respond(HttpExchange exchange, Object body) throws IOException {
+        httpCalls.incrementAndGet();
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = json.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static UserResponse user(UUID id) {
+        Instant created = Instant.parse("2025-01-01T00:00:00Z");
+        return new UserResponse(id, id + "@dornach.com", "Alice", "Martin", "EMPLOYEE", "ACTIVE",
+                created, created);
+    }
+
+    @Benchmark
+    public UserResponse lookup() {
+        lookups.incrementAndGet();
+        return userClient.getUserById(ids.get(ThreadLocalRandom.current().nextInt(USERS)));
+    }
+}
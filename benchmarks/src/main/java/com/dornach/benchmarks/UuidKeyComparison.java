@@ -0,0 +1,89 @@
+package com.dornach.benchmarks;
+
+import com.dornach.order.domain.TimeOrderedUuidGenerator;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Inserts the same number of rows into two tables keyed by random (v4) and by
+ * time-ordered (v7) UUIDs, and reports insert throughput and, on PostgreSQL,
+ * the size of each primary key index.
+ *
+ * java -cp benchmarks/target/benchmarks.jar com.dornach.benchmarks.UuidKeyComparison \
+ *     [rows] [jdbc url] [user] [password]
+ *
+ * Defaults to 5M rows in an in-memory H2 database; point it at the
+ * docker-compose PostgreSQL (jdbc:postgresql://localhost:5432/dornach dornach dornach)
+ * for index sizes. The tables are dropped and recreated on every run.
+ */
+public final class UuidKeyComparison {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private UuidKeyComparison() {}
+
+    public static void main(String[] args) throws SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        String url = args.length > 1 ? args[1] : "jdbc:h2:mem:uuid-keys;DB_CLOSE_DELAY=-1";
+        String user = args.length > 2 ? args[2] : "sa";
+        String password = args.length > 3 ? args[3] : "";
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            boolean postgres = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+            System.out.printf("%,d rows per table on %s%n%n", rows, connection.getMetaData().getDatabaseProductName());
+            System.out.printf("%-8s %12s %14s%n", "keys", "rows/s", "pk index MB");
+            run(connection, postgres, "v4", UUID::randomUUID, rows);
+            run(connection, postgres, "v7", TimeOrderedUuidGenerator::generate, rows);
+        }
+    }
+
+    private static void run(Connection connection, boolean postgres, String kind, Supplier<UUID> ids, int rows)
+            throws SQLException {
+        String table = "uuid_keys_" + kind;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table
+                    + " (id UUID PRIMARY KEY, payload VARCHAR(64) NOT NULL, created_at TIMESTAMP NOT NULL)");
+        }
+        connection.commit();
+
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, payload, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, ids.get());
+                insert.setString(2, "row " + i);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        String indexSize = "n/a";
+        if (postgres) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet size = statement.executeQuery(
+                         "SELECT pg_relation_size('" + table + "_pkey') / 1048576.0")) {
+                size.next();
+                indexSize = String.format("%.1f", size.getDouble(1));
+            }
+        }
+        System.out.printf("%-8s %,12.0f %14s%n", kind, rows / seconds, indexSize);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + table);
+        }
+        connection.commit();
+    }
+}
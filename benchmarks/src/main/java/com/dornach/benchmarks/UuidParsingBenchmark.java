@@ -0,0 +1,67 @@
+package com.dornach.benchmarks;
+
+import com.dornach.order.dto.PageCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning path variables and page cursors back into UUIDs: the plain JDK
+ * parse, and the two routes Spring MVC takes for a {@code @PathVariable UUID}
+ * (property editor by default, conversion service when one is registered).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UuidParsingBenchmark {
+
+    private String pathVariable;
+    private String cursor;
+    private SimpleTypeConverter typeConverter;
+    private ConversionService conversionService;
+
+    @Setup
+    public void setUp() {
+        pathVariable = UUID.randomUUID().toString();
+        cursor = new PageCursor(Instant.now(), UUID.randomUUID()).encode();
+        typeConverter = new SimpleTypeConverter();
+        conversionService = new DefaultFormattingConversionService();
+    }
+
+    @Benchmark
+    public UUID fromString() {
+        return UUID.fromString(pathVariable);
+    }
+
+    @Benchmark
+    public UUID propertyEditor() {
+        return typeConverter.convertIfNecessary(pathVariable, UUID.class);
+    }
+
+    @Benchmark
+    public UUID conversionService() {
+        return conversionService.convert(pathVariable, UUID.class);
+    }
+
+    @Benchmark
+    public PageCursor decodeCursor() {
+        return PageCursor.decode(cursor);
+    }
+}
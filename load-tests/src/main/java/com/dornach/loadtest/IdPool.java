@@ -0,0 +1,32 @@
+package com.dornach.loadtest;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The most recent ids of one kind, for requests that need an existing
+ * resource. Once full, new ids overwrite the oldest ones.
+ */
+final class IdPool {
+
+    private final AtomicReferenceArray<UUID> ids;
+    private final AtomicLong added = new AtomicLong();
+
+    IdPool(int capacity) {
+        this.ids = new AtomicReferenceArray<>(capacity);
+    }
+
+    void add(UUID id) {
+        ids.set((int) (added.getAndIncrement() % ids.length()), id);
+    }
+
+    /**
+     * @return one of the ids held, or null while the pool is empty
+     */
+    UUID random() {
+        int size = (int) Math.min(added.get(), ids.length());
+        return size == 0 ? null : ids.get(ThreadLocalRandom.current().nextInt(size));
+    }
+}
@@ -0,0 +1,73 @@
+package com.dornach.loadtest;
+
+import com.dornach.loadtest.LoadRunner.OperationResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per operation, as a table for the
+ * console and as JSON for comparing runs.
+ */
+final class LatencyReport {
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final Scenario scenario;
+    private final List<OperationResult> results;
+
+    LatencyReport(Scenario scenario, List<OperationResult> results) {
+        this.scenario = scenario;
+        this.results = results;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nScenario %s: %s measured after %s warmup%n%n",
+                scenario.name(), scenario.duration(), scenario.warmup());
+        out.printf("%-14s %9s %9s %8s %8s %9s %9s %9s %9s%n",
+                "operation", "target/s", "actual/s", "errors", "skipped", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (OperationResult result : results) {
+            var latency = result.latency();
+            out.printf("%-14s %9.1f %9.1f %8d %8d %9.2f %9.2f %9.2f %9.2f%n",
+                    result.operation().label(), result.targetRate(), result.throughput(),
+                    result.errors(), result.skipped(),
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()));
+        }
+    }
+
+    void write(Path file) throws IOException {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (OperationResult result : results) {
+            var latency = result.latency();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("targetRate", result.targetRate());
+            values.put("throughput", result.throughput());
+            values.put("ok", result.ok());
+            values.put("errors", result.errors());
+            values.put("skipped", result.skipped());
+            values.put("p50Ms", millis(latency.getValueAtPercentile(50)));
+            values.put("p99Ms", millis(latency.getValueAtPercentile(99)));
+            values.put("p999Ms", millis(latency.getValueAtPercentile(99.9)));
+            values.put("maxMs", millis(latency.getMaxValue()));
+            operations.put(result.operation().label(), values);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario.name());
+        report.put("durationSeconds", scenario.duration().toSeconds());
+        report.put("operations", operations);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
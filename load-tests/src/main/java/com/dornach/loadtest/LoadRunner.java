@@ -0,0 +1,127 @@
+package com.dornach.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Applies a scenario as an open-loop workload: each operation is sent on a
+ * fixed schedule derived from its rate, on its own virtual thread, whether or
+ * not earlier requests have completed. Latency is measured from the time a
+ * request was scheduled for, not from when it was actually sent, so a stalled
+ * service shows up in the percentiles instead of silently lowering the rate.
+ *
+ * Only requests scheduled after the warmup are counted.
+ */
+final class LoadRunner {
+
+    private static final Logger log = Logger.getLogger(LoadRunner.class.getName());
+
+    // Latencies up to 1 min, 3 significant digits
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Workload workload;
+
+    LoadRunner(Workload workload) {
+        this.workload = workload;
+    }
+
+    List<OperationResult> run(Scenario scenario) throws InterruptedException {
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        scenario.rates().keySet().forEach(operation -> stats.put(operation, new Stats()));
+
+        long start = System.nanoTime();
+        long measureFrom = start + scenario.warmup().toNanos();
+        long end = measureFrom + scenario.duration().toNanos();
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Thread> schedulers = new ArrayList<>();
+            scenario.rates().forEach((operation, rate) -> schedulers.add(Thread.ofPlatform()
+                    .name("schedule-" + operation.label())
+                    .start(() -> schedule(operation, rate, stats.get(operation), requests, start, measureFrom, end))));
+            for (Thread scheduler : schedulers) {
+                scheduler.join();
+            }
+            // Closing the executor waits for the requests still in flight
+        }
+
+        List<OperationResult> results = new ArrayList<>();
+        stats.forEach((operation, s) -> results.add(new OperationResult(operation, scenario.rates().get(operation),
+                s.ok.sum(), s.errors.sum(), s.skipped.sum(), scenario.duration(),
+                s.latency.getIntervalHistogram())));
+        return results;
+    }
+
+    private void schedule(Operation operation, double rate, Stats stats, ExecutorService requests,
+                          long start, long measureFrom, long end) {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                return;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            requests.execute(() -> send(operation, stats, intended, intended >= measureFrom));
+        }
+    }
+
+    private void send(Operation operation, Stats stats, long intended, boolean measured) {
+        Workload.Outcome outcome;
+        try {
+            outcome = workload.execute(operation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            log.log(Level.FINE, operation.label() + " failed", e);
+            outcome = Workload.Outcome.ERROR;
+        }
+        if (!measured) {
+            return;
+        }
+        switch (outcome) {
+            case OK -> stats.ok.increment();
+            case ERROR -> stats.errors.increment();
+            case SKIPPED -> {
+                stats.skipped.increment();
+                return;
+            }
+        }
+        stats.latency.recordValue(Math.min(System.nanoTime() - intended, MAX_LATENCY_NANOS));
+    }
+
+    private static final class Stats {
+        final Recorder latency = new Recorder(MAX_LATENCY_NANOS, 3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+    }
+
+    /**
+     * Measured results for one operation. Latencies are in nanoseconds and
+     * include failed requests; skipped ones (no existing resource to act on
+     * yet) are only counted.
+     */
+    record OperationResult(Operation operation, double targetRate, long ok, long errors, long skipped,
+                           Duration duration, Histogram latency) {
+
+        double throughput() {
+            return (ok + errors) / (duration.toNanos() / 1e9);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.dornach.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots user-service, shipment-service and order-service in this JVM, applies
+ * the scenario given on the command line and reports per-operation
+ * throughput and latency percentiles, also written to load-test-result.json.
+ *
+ * Usage: java -jar load-tests/target/load-tests-exec.jar load-tests/scenarios/checkout.yaml [result.json]
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: load-tests <scenario.yaml> [result.json]");
+            System.exit(2);
+        }
+        Scenario scenario = Scenario.load(Path.of(args[0]));
+        Path resultFile = Path.of(args.length > 1 ? args[1] : "load-test-result.json");
+
+        try (var services = new LocalServices();
+             var http = HttpClient.newBuilder()
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .build()) {
+            var workload = new Workload(http, services);
+            workload.seedUsers(scenario.seedUsers());
+
+            var results = new LoadRunner(workload).run(scenario);
+
+            var report = new LatencyReport(scenario, results);
+            report.print(System.out);
+            report.write(resultFile);
+            System.out.println("\nResults written to " + resultFile.toAbsolutePath());
+        }
+        // Scheduled tasks and pools of the embedded services are not daemon threads
+        System.exit(0);
+    }
+}
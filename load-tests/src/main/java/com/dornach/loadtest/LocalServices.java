@@ -0,0 +1,65 @@
+package com.dornach.loadtest;
+
+import com.dornach.order.OrderServiceApplication;
+import com.dornach.shipment.ShipmentServiceApplication;
+import com.dornach.user.UserServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The three services running in this JVM, each on a random port, with its own
+ * application.yaml (copied to classpath:/&lt;service&gt;/ by the build) and its
+ * own in-memory H2 database. order-service is started last, pointed at the
+ * ports the other two got.
+ */
+final class LocalServices implements AutoCloseable {
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    final String userServiceUrl;
+    final String shipmentServiceUrl;
+    final String orderServiceUrl;
+
+    LocalServices() {
+        try {
+            userServiceUrl = start(UserServiceApplication.class, "user-service");
+            shipmentServiceUrl = start(ShipmentServiceApplication.class, "shipment-service");
+            orderServiceUrl = start(OrderServiceApplication.class, "order-service",
+                    "user.service.url=" + userServiceUrl,
+                    "shipment.service.url=" + shipmentServiceUrl);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    // Settings are passed as command-line arguments so that they win over the service's application.yaml
+    private String start(Class<?> application, String service, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "spring.config.location=classpath:/" + service + "/application.yaml",
+                "spring.datasource.url=jdbc:h2:mem:" + service + "-load-test",
+                "spring.jpa.show-sql=false",
+                "server.port=0",
+                "logging.level.root=WARN"));
+        args.addAll(List.of(properties));
+        var context = new SpringApplicationBuilder(application)
+                .logStartupInfo(false)
+                .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+        contexts.add(context);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    @Override
+    public void close() {
+        // Reverse order: order-service stops calling the others before they go away
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+        contexts.clear();
+    }
+}
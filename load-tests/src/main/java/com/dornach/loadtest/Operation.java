@@ -0,0 +1,25 @@
+package com.dornach.loadtest;
+
+/**
+ * Requests a scenario can send, named in scenario files in kebab case
+ * (create-order, list-orders, ...).
+ */
+public enum Operation {
+
+    /** POST /users */
+    CREATE_USER,
+    /** POST /orders for a user created earlier */
+    CREATE_ORDER,
+    /** POST /orders/{id}/confirm for an order still PENDING */
+    CONFIRM_ORDER,
+    /** GET /orders/{id} for any order created earlier */
+    GET_ORDER,
+    /** GET /orders/{id} for a confirmed order, as a client waiting for its tracking number would */
+    POLL_ORDER,
+    /** GET /orders, first page */
+    LIST_ORDERS;
+
+    public String label() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
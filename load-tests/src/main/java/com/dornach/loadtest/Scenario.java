@@ -0,0 +1,54 @@
+package com.dornach.loadtest;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * A load-test scenario, read from the scenario: block of a YAML file.
+ *
+ * @param name      shown in the report
+ * @param warmup    load applied before measuring; its samples are discarded
+ * @param duration  measured load, after the warmup
+ * @param seedUsers users created before the load starts, for create-order to pick from
+ * @param rates     target requests per second for each operation; the
+ *                  schedule is open-loop and does not slow down when
+ *                  responses do
+ */
+public record Scenario(
+        @DefaultValue("scenario") String name,
+        @DefaultValue("10s") Duration warmup,
+        @DefaultValue("60s") Duration duration,
+        @DefaultValue("50") int seedUsers,
+        Map<Operation, Double> rates
+) {
+
+    public Scenario {
+        rates = rates == null ? Map.of() : Map.copyOf(rates);
+        rates.forEach((operation, rate) -> {
+            if (rate <= 0) {
+                throw new IllegalArgumentException("Rate for " + operation.label() + " must be positive: " + rate);
+            }
+        });
+        if (rates.isEmpty()) {
+            throw new IllegalArgumentException("Scenario " + name + " has no rates");
+        }
+    }
+
+    public static Scenario load(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("No scenario file at " + file.toAbsolutePath());
+        }
+        var sources = new YamlPropertySourceLoader().load(file.toString(), new FileSystemResource(file));
+        return new Binder(ConfigurationPropertySources.from(sources))
+                .bindOrCreate("scenario", Scenario.class);
+    }
+}
@@ -0,0 +1,154 @@
+package com.dornach.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends the requests behind each {@link Operation} and remembers the ids it
+ * gets back, so that later requests act on users and orders that exist.
+ */
+final class Workload {
+
+    enum Outcome { OK, ERROR, SKIPPED }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int POOL_SIZE = 10_000;
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String userServiceUrl;
+    private final String orderServiceUrl;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final IdPool users = new IdPool(POOL_SIZE);
+    private final IdPool orders = new IdPool(POOL_SIZE);
+    private final IdPool confirmedOrders = new IdPool(POOL_SIZE);
+    private final Queue<UUID> pendingOrders = new ConcurrentLinkedQueue<>();
+
+    Workload(HttpClient http, LocalServices services) {
+        this.http = http;
+        this.userServiceUrl = services.userServiceUrl;
+        this.orderServiceUrl = services.orderServiceUrl;
+    }
+
+    Outcome execute(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case CREATE_USER -> createUser();
+            case CREATE_ORDER -> createOrder();
+            case CONFIRM_ORDER -> confirmOrder();
+            case GET_ORDER -> getOrder(orders.random());
+            case POLL_ORDER -> getOrder(confirmedOrders.random());
+            case LIST_ORDERS -> send(get(orderServiceUrl + "/orders?size=50")) != null ? Outcome.OK : Outcome.ERROR;
+        };
+    }
+
+    private Outcome createUser() throws IOException, InterruptedException {
+        long n = sequence.incrementAndGet();
+        var body = Map.of(
+                "email", "load-" + n + "-" + UUID.randomUUID() + "@dornach.com",
+                "firstName", "Load",
+                "lastName", "Test " + n,
+                "role", "EMPLOYEE");
+        JsonNode user = send(post(userServiceUrl + "/users", body));
+        if (user == null) {
+            return Outcome.ERROR;
+        }
+        users.add(UUID.fromString(user.get("id").asText()));
+        return Outcome.OK;
+    }
+
+    private Outcome createOrder() throws IOException, InterruptedException {
+        UUID userId = users.random();
+        if (userId == null) {
+            return Outcome.SKIPPED;
+        }
+        var body = Map.of(
+                "userId", userId,
+                "productName", "Ergonomic keyboard",
+                "quantity", 1,
+                "totalPrice", new BigDecimal("149.90"),
+                "shippingAddress", "12 rue de la Paix, 75002 Paris");
+        JsonNode order = send(post(orderServiceUrl + "/orders", body));
+        if (order == null) {
+            return Outcome.ERROR;
+        }
+        UUID id = UUID.fromString(order.get("id").asText());
+        orders.add(id);
+        pendingOrders.add(id);
+        return Outcome.OK;
+    }
+
+    private Outcome confirmOrder() throws IOException, InterruptedException {
+        UUID id = pendingOrders.poll();
+        if (id == null) {
+            return Outcome.SKIPPED;
+        }
+        if (send(post(orderServiceUrl + "/orders/" + id + "/confirm", null)) == null) {
+            return Outcome.ERROR;
+        }
+        confirmedOrders.add(id);
+        return Outcome.OK;
+    }
+
+    private Outcome getOrder(UUID id) throws IOException, InterruptedException {
+        if (id == null) {
+            return Outcome.SKIPPED;
+        }
+        return send(get(orderServiceUrl + "/orders/" + id)) != null ? Outcome.OK : Outcome.ERROR;
+    }
+
+    /**
+     * Create the scenario's seed users before any load is applied.
+     */
+    void seedUsers(int count) throws IOException, InterruptedException {
+        for (int i = 0; i < count; i++) {
+            if (createUser() != Outcome.OK) {
+                throw new IllegalStateException("Could not create seed users at " + userServiceUrl);
+            }
+        }
+    }
+
+    private HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String url, Object body) throws IOException {
+        var publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(publisher)
+                .build();
+    }
+
+    /**
+     * @return the parsed body of a 2xx response, or null for any other status
+     */
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        var response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            return null;
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
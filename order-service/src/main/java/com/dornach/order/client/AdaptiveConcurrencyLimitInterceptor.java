@@ -0,0 +1,111 @@
+package com.dornach.order.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the requests in flight to one downstream service with an AIMD limit.
+ *
+ * The limit grows by one after a fast, successful call made while at least half
+ * of it was in use, and is multiplied by backoffRatio when a call is slower than
+ * latencyThreshold, fails with an I/O error or gets a 429/5xx. Calls over the
+ * limit fail fast with {@link ConcurrencyLimitExceededException} instead of queuing.
+ *
+ * Published as client.concurrency.limit, client.concurrency.in-flight and
+ * client.concurrency.rejected, tagged with the service name.
+ */
+public class AdaptiveConcurrencyLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String service;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private volatile int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+
+    public AdaptiveConcurrencyLimitInterceptor(String service, int initialLimit, int minLimit, int maxLimit,
+                                               double backoffRatio, Duration latencyThreshold,
+                                               MeterRegistry meterRegistry) {
+        this.service = service;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.limit = initialLimit;
+
+        Gauge.builder("client.concurrency.limit", this, l -> l.limit)
+                .tag("client", service)
+                .register(meterRegistry);
+        Gauge.builder("client.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .tag("client", service)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("client.concurrency.rejected")
+                .tag("client", service)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!tryAcquire()) {
+            rejected.increment();
+            throw new ConcurrencyLimitExceededException(service, limit);
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getStatusCode().value();
+            dropped = status == 429 || status >= 500;
+            return response;
+        } finally {
+            release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void release(long latencyNanos, boolean dropped) {
+        int wasInFlight = inFlight.getAndDecrement();
+        if (dropped || latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (wasInFlight * 2 >= limit) {
+            increase();
+        }
+    }
+
+    private synchronized void decrease() {
+        limit = Math.max(minLimit, (int) (limit * backoffRatio));
+    }
+
+    private synchronized void increase() {
+        limit = Math.min(maxLimit, limit + 1);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,137 @@
+package com.dornach.order.client;
+
+import com.dornach.order.dto.UserResponse;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * {@link UserClient} that coalesces concurrent lookups into POST /users/lookup calls.
+ *
+ * The first lookup opens a batch; the batch is sent when the window elapses or
+ * when it reaches maxBatchSize distinct ids, whichever comes first. Callers
+ * asking for the same id in the same batch share its result.
+ */
+public class BatchingUserClient implements UserClient, AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(BatchingUserClient.class.getName());
+
+    private static final ParameterizedTypeReference<List<UserResponse>> USER_LIST =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+    private final Duration window;
+    private final int maxBatchSize;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("user-batch-timer").daemon().factory());
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Object lock = new Object();
+    private Map<UUID, CompletableFuture<UserResponse>> pending = new HashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public BatchingUserClient(RestClient restClient, Duration window, int maxBatchSize) {
+        this.restClient = restClient;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public UserResponse getUserById(UUID userId) {
+        CompletableFuture<UserResponse> result;
+        Map<UUID, CompletableFuture<UserResponse>> full = null;
+        synchronized (lock) {
+            result = pending.computeIfAbsent(userId, id -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = timer.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void flush() {
+        Map<UUID, CompletableFuture<UserResponse>> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    // Must hold lock
+    private Map<UUID, CompletableFuture<UserResponse>> takePending() {
+        Map<UUID, CompletableFuture<UserResponse>> batch = pending;
+        pending = new HashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<UUID, CompletableFuture<UserResponse>> batch) {
+        senders.execute(() -> send(batch));
+    }
+
+    private void send(Map<UUID, CompletableFuture<UserResponse>> batch) {
+        log.fine("Looking up " + batch.size() + " users in one call");
+        try {
+            List<UserResponse> users = restClient.post()
+                    .uri("/users/lookup")
+                    .body(new ArrayList<>(batch.keySet()))
+                    .retrieve()
+                    .body(USER_LIST);
+            Map<UUID, UserResponse> found = users == null ? Map.of() : users.stream()
+                    .collect(Collectors.toMap(UserResponse::id, Function.identity()));
+
+            batch.forEach((id, result) -> {
+                UserResponse user = found.get(id);
+                if (user != null) {
+                    result.complete(user);
+                } else {
+                    result.completeExceptionally(new UserNotFoundException(id));
+                }
+            });
+        } catch (RuntimeException e) {
+            batch.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        flush();
+        senders.close();
+    }
+}
@@ -0,0 +1,82 @@
+package com.dornach.order.client;
+
+import com.dornach.order.dto.UserResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Near cache in front of another {@link UserClient}.
+ *
+ * - bounded to maxSize entries (W-TinyLFU eviction)
+ * - found users live for ttl and are reloaded in the background once older than refreshAfter,
+ *   so hot entries are refreshed before they expire and callers never wait for them
+ * - 404s are cached as well, but only for negativeTtl
+ * - concurrent misses on the same id wait for a single call to the delegate
+ *
+ * Other errors (timeouts, 5xx) are never cached. Statistics are published under
+ * the "cache.*" meters with tag cache=users.
+ */
+public class CachingUserClient implements UserClient {
+
+    private final LoadingCache<UUID, Optional<UserResponse>> cache;
+
+    public CachingUserClient(UserClient delegate, long maxSize, Duration ttl, Duration refreshAfter,
+                             Duration negativeTtl, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new FoundOrMissingExpiry(ttl, negativeTtl))
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .build(userId -> load(delegate, userId));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    private static Optional<UserResponse> load(UserClient delegate, UUID userId) {
+        try {
+            return Optional.of(delegate.getUserById(userId));
+        } catch (UserNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public UserResponse getUserById(UUID userId) {
+        return cache.get(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+    }
+
+    /**
+     * Drop a user from the cache, e.g. after learning it was changed.
+     */
+    public void evict(UUID userId) {
+        cache.invalidate(userId);
+    }
+
+    private record FoundOrMissingExpiry(Duration ttl, Duration negativeTtl)
+            implements Expiry<UUID, Optional<UserResponse>> {
+
+        @Override
+        public long expireAfterCreate(UUID key, Optional<UserResponse> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, Optional<UserResponse> value,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, Optional<UserResponse> value,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.dornach.order.client;
+
+/**
+ * Thrown instead of calling a downstream service that already has as many
+ * requests in flight as its adaptive concurrency limit allows.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String service, int limit) {
+        super("Concurrency limit of " + limit + " reached for " + service);
+    }
+}
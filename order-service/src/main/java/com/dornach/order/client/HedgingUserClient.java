@@ -0,0 +1,202 @@
+package com.dornach.order.client;
+
+import com.dornach.order.dto.UserResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link UserClient} that hedges slow lookups.
+ *
+ * If the first call has not answered after the configured latency percentile
+ * (observed over the last minute), an identical second call is sent; the first
+ * answer wins and the other call is cancelled. A 404 counts as an answer.
+ *
+ * Hedges are paid for by a budget: every lookup adds budgetPercent / 100 of a
+ * token, every hedge spends a whole one. When user-service is slow across the
+ * board the budget runs dry and we stop doubling its load.
+ *
+ * Exported as user.client.hedging.latency, user.client.hedging.hedges,
+ * user.client.hedging.wins and user.client.hedging.budget-exhausted.
+ */
+public class HedgingUserClient implements UserClient {
+
+    private static final double MAX_BUDGET_TOKENS = 10;
+
+    private final UserClient delegate;
+    private final double percentile;
+    private final long initialDelayNanos;
+    private final long minDelayNanos;
+    private final double tokensPerCall;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Timer latency;
+    private final Counter hedges;
+    private final Counter wins;
+    private final Counter budgetExhausted;
+
+    private double budget;
+
+    public HedgingUserClient(UserClient delegate, double percentile, Duration initialDelay, Duration minDelay,
+                             double budgetPercent, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.percentile = percentile;
+        this.initialDelayNanos = initialDelay.toNanos();
+        this.minDelayNanos = minDelay.toNanos();
+        this.tokensPerCall = budgetPercent / 100;
+
+        this.latency = Timer.builder("user.client.hedging.latency")
+                .description("Latency of individual user-service calls, used to pick the hedge delay")
+                .publishPercentiles(percentile)
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+        this.hedges = Counter.builder("user.client.hedging.hedges")
+                .description("Hedge requests sent")
+                .register(meterRegistry);
+        this.wins = Counter.builder("user.client.hedging.wins")
+                .description("Lookups answered by the hedge rather than the first call")
+                .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("user.client.hedging.budget-exhausted")
+                .description("Hedges skipped because the hedge budget was empty")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserResponse getUserById(UUID userId) {
+        deposit();
+        CompletableFuture<UserResponse> primary = call(userId, false);
+        try {
+            return primary.get(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Slow: hedge below
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.cancel(true);
+            throw new IllegalStateException("Interrupted while fetching user " + userId, e);
+        }
+
+        if (!withdraw()) {
+            budgetExhausted.increment();
+            return await(primary);
+        }
+        hedges.increment();
+        CompletableFuture<UserResponse> hedge = call(userId, true);
+        try {
+            return await(firstAnswer(primary, hedge));
+        } finally {
+            primary.cancel(true);
+            hedge.cancel(true);
+        }
+    }
+
+    /**
+     * Run one lookup on its own virtual thread. Cancelling the returned future
+     * interrupts that thread, which aborts its blocking HTTP exchange.
+     *
+     * Every first call is timed, including one cancelled because its hedge
+     * won: its time until cancellation is a lower bound of its latency, and
+     * leaving it out would drop exactly the slow tail and pull the hedge
+     * delay down. A cancelled hedge is not timed, since it only ran for part
+     * of the first call's latency.
+     */
+    private CompletableFuture<UserResponse> call(UUID userId, boolean hedge) {
+        CompletableFuture<UserResponse> result = new CompletableFuture<>();
+        long start = System.nanoTime();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(delegate.getUserById(userId));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                if (!hedge || !result.isCancelled()) {
+                    latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+        result.whenComplete((user, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Completes with the first user or 404; fails only if both calls fail.
+     */
+    private CompletableFuture<UserResponse> firstAnswer(CompletableFuture<UserResponse> primary,
+                                                        CompletableFuture<UserResponse> hedge) {
+        CompletableFuture<UserResponse> answer = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((user, error) -> offer(answer, user, error, failures, false));
+        hedge.whenComplete((user, error) -> offer(answer, user, error, failures, true));
+        return answer;
+    }
+
+    private void offer(CompletableFuture<UserResponse> answer, UserResponse user, Throwable error,
+                       AtomicInteger failures, boolean fromHedge) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        boolean answered = cause == null
+                ? answer.complete(user)
+                : cause instanceof UserNotFoundException && answer.completeExceptionally(cause);
+        if (answered && fromHedge) {
+            wins.increment();
+        }
+        if (cause != null && !(cause instanceof UserNotFoundException) && failures.incrementAndGet() == 2) {
+            answer.completeExceptionally(cause);
+        }
+    }
+
+    private long hedgeDelayNanos() {
+        HistogramSnapshot snapshot = latency.takeSnapshot();
+        if (snapshot.count() == 0) {
+            return initialDelayNanos;
+        }
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return Math.max(minDelayNanos, (long) value.value(TimeUnit.NANOSECONDS));
+            }
+        }
+        return initialDelayNanos;
+    }
+
+    private synchronized void deposit() {
+        budget = Math.min(MAX_BUDGET_TOKENS, budget + tokensPerCall);
+    }
+
+    private synchronized boolean withdraw() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private static UserResponse await(CompletableFuture<UserResponse> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,25 @@
+package com.dornach.order.client;
+
+import com.dornach.order.dto.CreateShipmentRequest;
+import com.dornach.order.dto.ShipmentResponse;
+
+/**
+ * Client interface for calling shipment-service.
+ */
+public interface ShipmentClient {
+
+    /**
+     * Create a shipment for an order.
+     *
+     * shipment-service returns the existing shipment if one was already
+     * created for the order, so this is safe to retry.
+     *
+     * @return the created shipment, with its tracking number
+     */
+    ShipmentResponse createShipment(CreateShipmentRequest request);
+
+    /**
+     * Get a shipment by its tracking number.
+     */
+    ShipmentResponse getShipmentByTrackingNumber(String trackingNumber);
+}
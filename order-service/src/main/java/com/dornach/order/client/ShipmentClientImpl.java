@@ -0,0 +1,53 @@
+package com.dornach.order.client;
+
+import com.dornach.order.dto.CreateShipmentRequest;
+import com.dornach.order.dto.ShipmentResponse;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.logging.Logger;
+
+/**
+ * Implementation of ShipmentClient using RestClient.
+ *
+ * Calls go through the "shipmentService" bulkhead and circuit breaker
+ * configured in application.yaml.
+ */
+@Component
+public class ShipmentClientImpl implements ShipmentClient {
+
+    private static final Logger log = Logger.getLogger(ShipmentClientImpl.class.getName());
+
+    private final RestClient restClient;
+
+    public ShipmentClientImpl(@Qualifier("shipmentRestClient") RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    @Override
+    @Bulkhead(name = "shipmentService")
+    @CircuitBreaker(name = "shipmentService")
+    public ShipmentResponse createShipment(CreateShipmentRequest request) {
+        log.info("Creating shipment for order: " + request.orderId());
+
+        return restClient.post()
+                .uri("/shipments")
+                .header("Idempotency-Key", "order-" + request.orderId())
+                .body(request)
+                .retrieve()
+                .body(ShipmentResponse.class);
+    }
+
+    @Override
+    @Bulkhead(name = "shipmentService")
+    @CircuitBreaker(name = "shipmentService")
+    public ShipmentResponse getShipmentByTrackingNumber(String trackingNumber) {
+        return restClient.get()
+                .uri("/shipments/tracking/{trackingNumber}", trackingNumber)
+                .retrieve()
+                .body(ShipmentResponse.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.dornach.order.client;
+
+import com.dornach.order.dto.UserResponse;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every lookup made through another {@link UserClient}, as seen by the
+ * caller: cache hits, batching and hedging included. Published as
+ * "user.client.requests" with an outcome tag:
+ *
+ * - SUCCESS: the user was returned
+ * - NOT_FOUND: user-service answered 404
+ * - REJECTED: turned away locally by the bulkhead, circuit breaker or concurrency limit
+ * - ERROR: anything else (timeouts, 5xx, I/O errors)
+ *
+ * The four timers are registered up front, so recording a call is only a
+ * histogram update. Distribution settings come from management.metrics.distribution.
+ */
+public class TimedUserClient implements UserClient {
+
+    private final UserClient delegate;
+    private final Timer success;
+    private final Timer notFound;
+    private final Timer rejected;
+    private final Timer error;
+
+    public TimedUserClient(UserClient delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.success = timer("SUCCESS", meterRegistry);
+        this.notFound = timer("NOT_FOUND", meterRegistry);
+        this.rejected = timer("REJECTED", meterRegistry);
+        this.error = timer("ERROR", meterRegistry);
+    }
+
+    private static Timer timer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("user.client.requests")
+                .description("User lookups made by order-service")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserResponse getUserById(UUID userId) {
+        long start = System.nanoTime();
+        Timer timer = error;
+        try {
+            UserResponse user = delegate.getUserById(userId);
+            timer = success;
+            return user;
+        } catch (UserNotFoundException e) {
+            timer = notFound;
+            throw e;
+        } catch (BulkheadFullException | CallNotPermittedException | ConcurrencyLimitExceededException e) {
+            timer = rejected;
+            throw e;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.dornach.order.client;
 
 import com.dornach.order.dto.UserResponse;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
@@ -11,11 +13,11 @@ import java.util.logging.Logger;
 /**
  * Implementation of UserClient using RestClient.
  *
- * TODO (Step 2 - Exercise 2): Implement the client
+ * Wrapped by {@link CachingUserClient} when user.client.cache.enabled is set,
+ * see {@code UserClientConfig}.
  *
- * 1. Use the injected RestClient to GET /users/{userId}
- * 2. Return the UserResponse
- * 3. Handle 404 errors (throw UserNotFoundException)
+ * Calls go through the "userService" bulkhead and circuit breaker configured
+ * in application.yaml: they fail fast once user-service is saturated or failing.
  *
  * TODO (Step 2 - Exercise 3): Add Resilience4j annotations
  * - @Retry(name = "userService", fallbackMethod = "getUserByIdFallback")
@@ -32,20 +34,18 @@ public class UserClientImpl implements UserClient {
     }
 
     @Override
+    @Bulkhead(name = "userService")
+    @CircuitBreaker(name = "userService")
     public UserResponse getUserById(UUID userId) {
         log.info("Fetching user: " + userId);
 
-        // TODO (Step 2): Implement using RestClient
-        // Hint:
-        // return restClient.get()
-        //     .uri("/users/{id}", userId)
-        //     .retrieve()
-        //     .onStatus(status -> status.value() == 404, (request, response) -> {
-        //         throw new UserNotFoundException(userId);
-        //     })
-        //     .body(UserResponse.class);
-
-        throw new UnsupportedOperationException("TODO: Implement getUserById");
+        return restClient.get()
+                .uri("/users/{id}", userId)
+                .retrieve()
+                .onStatus(status -> status.value() == 404, (request, response) -> {
+                    throw new UserNotFoundException(userId);
+                })
+                .body(UserResponse.class);
     }
 
     // TODO (Step 2 - Exercise 3): Add fallback method
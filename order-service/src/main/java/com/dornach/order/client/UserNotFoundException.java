@@ -0,0 +1,13 @@
+package com.dornach.order.client;
+
+import java.util.UUID;
+
+/**
+ * Thrown by {@link UserClient} when user-service answers 404 for a user.
+ */
+public class UserNotFoundException extends RuntimeException {
+
+    public UserNotFoundException(UUID userId) {
+        super("User not found: " + userId);
+    }
+}
@@ -0,0 +1,81 @@
+package com.dornach.order.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.logging.Logger;
+
+/**
+ * Hibernate second-level cache, only when entity-cache.enabled is true.
+ *
+ * Each region named under entity-cache.regions is a Caffeine cache behind
+ * JCache, bounded in size and with its own TTL; regions that are not
+ * configured fail startup instead of silently growing without bounds.
+ * Entities use READ_WRITE regions, so saves and deletes update or evict their
+ * entry in the same transaction. A bulk JPQL update would evict the whole
+ * region, so order status transitions run as JDBC UPDATEs and evict only the
+ * orders they change (see OrderTransitionRepositoryImpl).
+ * Hits and misses are published per region as cache.gets{cache=...}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "entity-cache.enabled", havingValue = "true")
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+
+    private static final Logger log = Logger.getLogger(EntityCacheConfig.class.getName());
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties, MeterRegistry meterRegistry,
+                                           ApplicationContext applicationContext) {
+        // A manager of its own rather than the provider's JVM-wide default: the
+        // benchmarks and load tests run several contexts in one JVM, and closing
+        // one of them must not close the caches of the others
+        URI uri = URI.create("entity-cache:" + applicationContext.getEnvironment()
+                .getProperty("spring.application.name", "application")
+                + ":" + ObjectUtils.getIdentityHexString(applicationContext));
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(uri, applicationContext.getClassLoader());
+        Map<String, EntityCacheProperties.Region> regions =
+                properties.regions() == null ? Map.of() : properties.regions();
+
+        regions.forEach((name, region) -> {
+            var configuration = new CaffeineConfiguration<Object, Object>()
+                    .setMaximumSize(OptionalLong.of(region.maxSize()))
+                    .setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()))
+                    // Hibernate already stores immutable, disassembled entries: no need to copy them
+                    .setStoreByValue(false)
+                    .setNativeStatisticsEnabled(true);
+            Cache<?, ?> cache = cacheManager.createCache(name, configuration).unwrap(Cache.class);
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        });
+        log.info("Second-level cache enabled with regions " + regions.keySet());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateProperties(CacheManager entityCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.dornach.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Outbound HTTP settings, one entry per downstream service under http.clients.
+ */
+@ConfigurationProperties(prefix = "http")
+public record HttpClientProperties(Map<String, Client> clients) {
+
+    public Client client(String name) {
+        return clients == null ? Client.DEFAULTS : clients.getOrDefault(name, Client.DEFAULTS);
+    }
+
+    /**
+     * @param maxConnections           pooled connections across all routes
+     * @param maxConnectionsPerRoute   pooled connections to one host
+     * @param connectTimeout           TCP connect timeout
+     * @param readTimeout              socket read timeout once the request is sent
+     * @param connectionRequestTimeout how long to wait for a pooled connection
+     * @param idleTimeout              idle connections older than this are closed
+     * @param compression              ask for gzip/deflate responses and decode them
+     * @param http2                    use the JDK client with HTTP/2 instead of the pool
+     * @param cbor                     send CBOR bodies and ask for CBOR before JSON
+     * @param concurrencyLimit         adaptive cap on requests in flight
+     */
+    public record Client(
+            @DefaultValue("100") int maxConnections,
+            @DefaultValue("20") int maxConnectionsPerRoute,
+            @DefaultValue("1s") Duration connectTimeout,
+            @DefaultValue("5s") Duration readTimeout,
+            @DefaultValue("500ms") Duration connectionRequestTimeout,
+            @DefaultValue("30s") Duration idleTimeout,
+            @DefaultValue("true") boolean compression,
+            @DefaultValue("false") boolean http2,
+            @DefaultValue("true") boolean cbor,
+            @DefaultValue ConcurrencyLimit concurrencyLimit
+    ) {
+        // Bound from the @DefaultValue annotations, so a client missing from
+        // http.clients gets the same settings as an empty entry
+        static final Client DEFAULTS = new Binder().bindOrCreate("http.clients", Client.class);
+    }
+
+    /**
+     * AIMD concurrency limit, see AdaptiveConcurrencyLimitInterceptor.
+     *
+     * @param latencyThreshold calls slower than this shrink the limit
+     * @param backoffRatio     factor applied to the limit when it shrinks
+     */
+    public record ConcurrencyLimit(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("1") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("500ms") Duration latencyThreshold,
+            @DefaultValue("0.9") double backoffRatio
+    ) {}
+}
@@ -1,20 +1,59 @@
 package com.dornach.order.config;
 
+import com.dornach.order.client.AdaptiveConcurrencyLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.util.Comparator;
+import java.util.List;
+
 /**
  * Configuration for RestClient beans.
  *
  * TODO (Step 2 - Exercise 1): Configure RestClient for calling other services
+ *
+ * Each client gets its own HTTP stack, configured under http.clients.<service>:
+ * a pool of keep-alive connections with per-route limits and explicit timeouts
+ * (Apache HttpClient), or the JDK client when HTTP/2 is enabled.
+ * Pool usage is published as httpcomponents.httpclient.pool.* meters and lease
+ * waits as http.client.pool.wait, both tagged with the service name.
+ * An adaptive concurrency limit can be put in front of each client as well.
+ * With cbor enabled, the CBOR converter is moved ahead of JSON: request bodies
+ * are sent as application/cbor and application/cbor is listed first in Accept,
+ * with JSON still accepted from services that do not offer CBOR.
  */
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class RestClientConfig {
 
+    private final HttpClientProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RestClientConfig(HttpClientProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
     @Value("${user.service.url:http://localhost:8081}")
     private String userServiceUrl;
 
@@ -39,7 +78,11 @@ public class RestClientConfig {
         //     .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
         //     .build();
 
-        return builder.baseUrl(userServiceUrl).build();
+        return builder.baseUrl(userServiceUrl)
+                .requestFactory(requestFactory("user-service"))
+                .apply(client -> preferCbor("user-service", client))
+                .requestInterceptors(interceptors -> addConcurrencyLimit("user-service", interceptors))
+                .build();
     }
 
     /**
@@ -49,6 +92,79 @@ public class RestClientConfig {
      */
     @Bean
     public RestClient shipmentRestClient(RestClient.Builder builder) {
-        return builder.baseUrl(shipmentServiceUrl).build();
+        return builder.baseUrl(shipmentServiceUrl)
+                .requestFactory(requestFactory("shipment-service"))
+                .apply(client -> preferCbor("shipment-service", client))
+                .requestInterceptors(interceptors -> addConcurrencyLimit("shipment-service", interceptors))
+                .build();
+    }
+
+    private void preferCbor(String service, RestClient.Builder builder) {
+        if (properties.client(service).cbor()) {
+            // List.sort is stable: CBOR moves to the front, the rest keep their order
+            builder.messageConverters(converters -> converters.sort(Comparator.comparing(
+                            converter -> !(converter instanceof MappingJackson2CborHttpMessageConverter))))
+                    .defaultHeader(HttpHeaders.ACCEPT,
+                            MediaType.APPLICATION_CBOR_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE);
+        }
+    }
+
+    private void addConcurrencyLimit(String service, List<ClientHttpRequestInterceptor> interceptors) {
+        HttpClientProperties.ConcurrencyLimit settings = properties.client(service).concurrencyLimit();
+        if (settings.enabled()) {
+            interceptors.add(new AdaptiveConcurrencyLimitInterceptor(service, settings.initialLimit(),
+                    settings.minLimit(), settings.maxLimit(), settings.backoffRatio(),
+                    settings.latencyThreshold(), meterRegistry));
+        }
+    }
+
+    private ClientHttpRequestFactory requestFactory(String service) {
+        HttpClientProperties.Client settings = properties.client(service);
+        return settings.http2() ? http2RequestFactory(settings) : pooledRequestFactory(service, settings);
+    }
+
+    private ClientHttpRequestFactory pooledRequestFactory(String service, HttpClientProperties.Client settings) {
+        Timer leaseTimer = Timer.builder("http.client.pool.wait")
+                .description("Time spent waiting for a pooled connection")
+                .tag("client", service)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        var connectionManager = new TimedConnectionManager(leaseTimer);
+        connectionManager.setMaxTotal(settings.maxConnections());
+        connectionManager.setDefaultMaxPerRoute(settings.maxConnectionsPerRoute());
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(settings.connectTimeout()))
+                .setSocketTimeout(Timeout.of(settings.readTimeout()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, service).bindTo(meterRegistry);
+
+        HttpClientBuilder httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(settings.connectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(settings.readTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(settings.idleTimeout()));
+        if (!settings.compression()) {
+            httpClient.disableContentCompression();
+        }
+        return new HttpComponentsClientHttpRequestFactory(httpClient.build());
+    }
+
+    /**
+     * HTTP/2 multiplexes requests over one connection per host (h2c upgrade
+     * on plain http), so there is no pool to size or monitor.
+     */
+    private ClientHttpRequestFactory http2RequestFactory(HttpClientProperties.Client settings) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(settings.connectTimeout())
+                .build();
+        var factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(settings.readTimeout());
+        return factory;
     }
 }
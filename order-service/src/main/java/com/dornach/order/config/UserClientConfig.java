@@ -0,0 +1,94 @@
+package com.dornach.order.config;
+
+import com.dornach.order.client.BatchingUserClient;
+import com.dornach.order.client.CachingUserClient;
+import com.dornach.order.client.HedgingUserClient;
+import com.dornach.order.client.TimedUserClient;
+import com.dornach.order.client.UserClient;
+import com.dornach.order.client.UserClientImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Assembles the {@link UserClient} used by the services: the HTTP client,
+ * wrapped by the optional layers enabled in application.yaml, and timed
+ * as a whole by {@link TimedUserClient}.
+ */
+@Configuration
+public class UserClientConfig {
+
+    @Value("${user.client.cache.enabled:false}")
+    private boolean cacheEnabled;
+
+    @Value("${user.client.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${user.client.cache.ttl:5m}")
+    private Duration cacheTtl;
+
+    @Value("${user.client.cache.refresh-after:1m}")
+    private Duration cacheRefreshAfter;
+
+    @Value("${user.client.cache.negative-ttl:10s}")
+    private Duration cacheNegativeTtl;
+
+    @Value("${user.client.batching.window:5ms}")
+    private Duration batchingWindow;
+
+    @Value("${user.client.batching.max-batch-size:100}")
+    private int batchingMaxBatchSize;
+
+    @Value("${user.client.hedging.enabled:false}")
+    private boolean hedgingEnabled;
+
+    @Value("${user.client.hedging.percentile:0.95}")
+    private double hedgingPercentile;
+
+    @Value("${user.client.hedging.initial-delay:50ms}")
+    private Duration hedgingInitialDelay;
+
+    @Value("${user.client.hedging.min-delay:5ms}")
+    private Duration hedgingMinDelay;
+
+    @Value("${user.client.hedging.budget-percent:5}")
+    private double hedgingBudgetPercent;
+
+    /**
+     * Sends lookups as POST /users/lookup batches instead of one GET per user.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "user.client.batching.enabled", havingValue = "true")
+    public BatchingUserClient batchingUserClient(@Qualifier("userRestClient") RestClient restClient) {
+        return new BatchingUserClient(restClient, batchingWindow, batchingMaxBatchSize);
+    }
+
+    @Bean
+    @Primary
+    public UserClient userClient(UserClientImpl httpClient,
+                                 ObjectProvider<BatchingUserClient> batchingClient,
+                                 MeterRegistry meterRegistry) {
+        UserClient client = httpClient;
+        BatchingUserClient batching = batchingClient.getIfAvailable();
+        if (batching != null) {
+            client = batching;
+        }
+        if (hedgingEnabled) {
+            client = new HedgingUserClient(client, hedgingPercentile, hedgingInitialDelay,
+                    hedgingMinDelay, hedgingBudgetPercent, meterRegistry);
+        }
+        if (cacheEnabled) {
+            client = new CachingUserClient(client, cacheMaxSize, cacheTtl, cacheRefreshAfter,
+                    cacheNegativeTtl, meterRegistry);
+        }
+        return new TimedUserClient(client, meterRegistry);
+    }
+}
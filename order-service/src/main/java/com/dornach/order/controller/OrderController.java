@@ -1,13 +1,35 @@
 package com.dornach.order.controller;
 
+import com.dornach.order.domain.OrderStatus;
+import com.dornach.order.dto.BatchOrderResponse;
+import com.dornach.order.dto.BulkTransitionRequest;
+import com.dornach.order.dto.BulkTransitionResponse;
 import com.dornach.order.dto.CreateOrderRequest;
+import com.dornach.order.dto.EntityVersion;
+import com.dornach.order.dto.OrderDetailsResponse;
+import com.dornach.order.dto.OrderFilter;
 import com.dornach.order.dto.OrderResponse;
+import com.dornach.order.dto.OrderStatsResponse;
+import com.dornach.order.idempotency.IdempotencyService;
+import com.dornach.order.service.OrderDetailsService;
+import com.dornach.order.service.OrderRollupService;
 import com.dornach.order.service.OrderService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,34 +37,169 @@ import java.util.UUID;
 @RequestMapping("/orders")
 public class OrderController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final OrderService orderService;
+    private final OrderDetailsService orderDetailsService;
+    private final OrderRollupService orderRollupService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectWriter orderWriter;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderDetailsService orderDetailsService,
+                           OrderRollupService orderRollupService,
+                           IdempotencyService idempotencyService, ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.orderDetailsService = orderDetailsService;
+        this.orderRollupService = orderRollupService;
+        this.idempotencyService = idempotencyService;
+        // The export writes many values to one stream: Jackson must not close it after each
+        this.orderWriter = objectMapper.writerFor(OrderResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
+    /**
+     * List orders page by page, optionally filtered by user, status and
+     * creation time (from inclusive, to exclusive). The body stays a plain
+     * array; when more rows exist, the token for the next page is returned in
+     * the X-Next-Cursor header and must be sent back with the same filters.
+     */
     @GetMapping
-    public List<OrderResponse> getAllOrders() {
-        return orderService.getAllOrders().stream()
-                .map(OrderResponse::from)
-                .toList();
+    public ResponseEntity<List<OrderResponse>> getAllOrders(
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        var filter = new OrderFilter(userId, status, from, to);
+        var page = orderService.getOrders(filter, cursor, size);
+        var response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Export orders as newline-delimited JSON, streamed straight from a
+     * database cursor to the response so heap use does not grow with the table.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        StreamingResponseBody body = out -> orderService.exportOrders(status, from, to, order -> {
+            try {
+                orderWriter.writeValue(out, OrderResponse.from(order));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Order counts and revenue per status, and per creation day and status
+     * between from and to (inclusive, UTC, default: the last 30 days).
+     * Served from rollups kept up to date on every order change.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStatsResponse> getOrderStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(orderRollupService.getStats(from, to));
     }
 
+    /**
+     * Recompute the rollups behind GET /orders/stats from the orders table.
+     */
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<OrderStatsResponse> rebuildOrderStats() {
+        orderRollupService.rebuild();
+        return ResponseEntity.ok(orderRollupService.getStats(null, null));
+    }
+
+    /**
+     * Get an order, with a strong ETag built from its id and updatedAt. When
+     * If-None-Match still matches, only the version is read and 304 is
+     * returned without a body.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponse> getOrderById(@PathVariable UUID id) {
-        var order = orderService.getOrderById(id);
-        return ResponseEntity.ok(OrderResponse.from(order));
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable UUID id, WebRequest request) {
+        if (request.checkNotModified(orderService.getOrderVersion(id).eTag())) {
+            return null;
+        }
+        var order = orderService.getOrderResponseById(id);
+        return ResponseEntity.ok()
+                .eTag(new EntityVersion(order.id(), order.updatedAt()).eTag())
+                .body(order);
+    }
+
+    /**
+     * The order with its user and shipment, fetched concurrently. Parts that
+     * cannot be fetched in time are left out and listed in "unavailable".
+     */
+    @GetMapping("/{id}/details")
+    public ResponseEntity<OrderDetailsResponse> getOrderDetails(@PathVariable UUID id) {
+        return ResponseEntity.ok(orderDetailsService.getOrderDetails(id));
     }
 
+    /**
+     * Create an order. Retries carrying the same Idempotency-Key header get the
+     * first response back instead of creating another order.
+     */
     @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        var order = orderService.createOrder(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.from(order));
+    public ResponseEntity<OrderResponse> createOrder(
+            @RequestHeader(name = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateOrderRequest request) {
+        return idempotencyService.execute(idempotencyKey, "POST /orders", request, OrderResponse.class, () -> {
+            var order = orderService.createOrder(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.from(order));
+        });
+    }
+
+    /**
+     * Create many orders in one call. Items are validated and reported
+     * individually, so a bad item does not reject the whole batch.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchOrderResponse> createOrders(@RequestBody List<CreateOrderRequest> requests) {
+        var results = orderService.createOrders(requests);
+        return ResponseEntity.ok(BatchOrderResponse.of(results));
     }
 
+    /**
+     * Confirm an order. Returns as soon as the order is CONFIRMED; it becomes
+     * SHIPPED, with a tracking number, once the shipment has been created.
+     */
     @PostMapping("/{id}/confirm")
     public ResponseEntity<OrderResponse> confirmOrder(@PathVariable UUID id) {
-        var order = orderService.confirmAndShipOrder(id);
+        var order = orderService.confirmOrder(id);
         return ResponseEntity.ok(OrderResponse.from(order));
     }
+
+    @PostMapping("/{id}/deliver")
+    public ResponseEntity<OrderResponse> deliverOrder(@PathVariable UUID id) {
+        return ResponseEntity.ok(OrderResponse.from(orderService.deliverOrder(id)));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<OrderResponse> cancelOrder(@PathVariable UUID id) {
+        return ResponseEntity.ok(OrderResponse.from(orderService.cancelOrder(id)));
+    }
+
+    /**
+     * Move many orders to one status. Orders that cannot make the transition
+     * are skipped; the response lists the ones that did.
+     */
+    @PostMapping("/transitions")
+    public ResponseEntity<BulkTransitionResponse> transitionOrders(
+            @Valid @RequestBody BulkTransitionRequest request) {
+        var transitioned = orderService.transitionOrders(request.ids(), request.status());
+        return ResponseEntity.ok(BulkTransitionResponse.of(request.ids().size(), transitioned));
+    }
 }
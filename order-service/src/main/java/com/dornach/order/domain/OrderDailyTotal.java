@@ -0,0 +1,54 @@
+package com.dornach.order.domain;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One stripe of the count and revenue of the orders created on one day (UTC)
+ * that are currently in one status. Maintained by OrderRollupService; the
+ * totals of a (day, status) are the sum of its rows over all shards.
+ */
+@Entity
+@Table(name = "order_daily_total_shards")
+@IdClass(OrderDailyTotal.Key.class)
+public class OrderDailyTotal {
+
+    public record Key(LocalDate day, OrderStatus status, int shard) implements Serializable {}
+
+    // "day" is a reserved word in H2
+    @Id
+    @Column(name = "order_day")
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Id
+    private int shard;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    protected OrderDailyTotal() {}
+
+    public OrderDailyTotal(LocalDate day, OrderStatus status, int shard, long orderCount, BigDecimal revenue) {
+        this.day = day;
+        this.status = status;
+        this.shard = shard;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+    }
+
+    public LocalDate getDay() { return day; }
+    public OrderStatus getStatus() { return status; }
+    public int getShard() { return shard; }
+    public long getOrderCount() { return orderCount; }
+    public BigDecimal getRevenue() { return revenue; }
+}
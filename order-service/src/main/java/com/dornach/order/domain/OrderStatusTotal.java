@@ -0,0 +1,46 @@
+package com.dornach.order.domain;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * One stripe of the running count and revenue of all orders currently in one
+ * status. Maintained by OrderRollupService; the totals of a status are the
+ * sum of its orders.rollups.shards rows.
+ */
+@Entity
+@Table(name = "order_status_total_shards")
+@IdClass(OrderStatusTotal.Key.class)
+public class OrderStatusTotal {
+
+    public record Key(OrderStatus status, int shard) implements Serializable {}
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Id
+    private int shard;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    protected OrderStatusTotal() {}
+
+    public OrderStatusTotal(OrderStatus status, int shard, long orderCount, BigDecimal revenue) {
+        this.status = status;
+        this.shard = shard;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+    }
+
+    public OrderStatus getStatus() { return status; }
+    public int getShard() { return shard; }
+    public long getOrderCount() { return orderCount; }
+    public BigDecimal getRevenue() { return revenue; }
+}
@@ -0,0 +1,98 @@
+package com.dornach.order.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Work recorded in the same transaction as an order change, and carried out
+ * afterwards by the OutboxDispatcher.
+ */
+@Entity
+@Table(name = "order_outbox", indexes = {
+        @Index(name = "idx_order_outbox_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_order_outbox_processed", columnList = "status, processed_at")
+})
+public class OutboxEvent {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxEventType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @CreationTimestamp
+    private Instant createdAt;
+
+    private Instant processedAt;
+
+    protected OutboxEvent() {}
+
+    public OutboxEvent(UUID orderId, OutboxEventType type) {
+        this.orderId = orderId;
+        this.type = type;
+        this.status = OutboxStatus.PENDING;
+        this.nextAttemptAt = Instant.now();
+    }
+
+    /**
+     * Reserve the event until the given instant so no other poller picks it up meanwhile.
+     */
+    public void leaseUntil(Instant until) {
+        this.nextAttemptAt = until;
+    }
+
+    public void markDone(Instant now) {
+        this.status = OutboxStatus.DONE;
+        this.processedAt = now;
+        this.lastError = null;
+    }
+
+    /**
+     * Record a failed attempt: retry at the given instant, or give up when retryAt is null.
+     */
+    public void recordFailure(String error, Instant retryAt) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+        if (retryAt == null) {
+            this.status = OutboxStatus.FAILED;
+        } else {
+            this.nextAttemptAt = retryAt;
+        }
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public UUID getOrderId() { return orderId; }
+    public OutboxEventType getType() { return type; }
+    public OutboxStatus getStatus() { return status; }
+    public int getAttempts() { return attempts; }
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public String getLastError() { return lastError; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getProcessedAt() { return processedAt; }
+}
@@ -0,0 +1,5 @@
+package com.dornach.order.domain;
+
+public enum OutboxEventType {
+    SHIP_ORDER
+}
@@ -0,0 +1,7 @@
+package com.dornach.order.domain;
+
+public enum OutboxStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,35 @@
+package com.dornach.order.dto;
+
+import com.dornach.order.domain.Order;
+
+/**
+ * Outcome of one item of a POST /orders/batch request.
+ *
+ * @param index position of the item in the submitted array
+ * @param order the created order, when status is CREATED
+ * @param error why the item was not created, otherwise
+ */
+public record BatchItemResult(
+    int index,
+    Status status,
+    OrderResponse order,
+    String error
+) {
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED
+    }
+
+    public static BatchItemResult created(int index, Order order) {
+        return new BatchItemResult(index, Status.CREATED, OrderResponse.from(order), null);
+    }
+
+    public static BatchItemResult invalid(int index, String error) {
+        return new BatchItemResult(index, Status.INVALID, null, error);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, Status.FAILED, null, error);
+    }
+}
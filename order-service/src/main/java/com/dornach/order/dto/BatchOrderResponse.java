@@ -0,0 +1,16 @@
+package com.dornach.order.dto;
+
+import java.util.List;
+
+public record BatchOrderResponse(
+    int created,
+    int rejected,
+    List<BatchItemResult> items
+) {
+    public static BatchOrderResponse of(List<BatchItemResult> items) {
+        int created = (int) items.stream()
+                .filter(item -> item.status() == BatchItemResult.Status.CREATED)
+                .count();
+        return new BatchOrderResponse(created, items.size() - created, items);
+    }
+}
@@ -0,0 +1,13 @@
+package com.dornach.order.dto;
+
+import com.dornach.order.domain.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkTransitionRequest(
+    @NotEmpty List<@NotNull UUID> ids,
+    @NotNull OrderStatus status
+) {}
@@ -0,0 +1,14 @@
+package com.dornach.order.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkTransitionResponse(
+    int requested,
+    int transitioned,
+    List<UUID> transitionedIds
+) {
+    public static BulkTransitionResponse of(int requested, List<UUID> transitionedIds) {
+        return new BulkTransitionResponse(requested, transitionedIds.size(), transitionedIds);
+    }
+}
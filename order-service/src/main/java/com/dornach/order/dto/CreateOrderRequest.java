@@ -1,12 +1,17 @@
 package com.dornach.order.dto;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
 import java.math.BigDecimal;
 import java.util.UUID;
 
 public record CreateOrderRequest(
-    UUID userId,
-    String productName,
-    int quantity,
-    BigDecimal totalPrice,
-    String shippingAddress
+    @NotNull UUID userId,
+    @NotBlank String productName,
+    @Positive int quantity,
+    @NotNull @PositiveOrZero BigDecimal totalPrice,
+    @NotBlank String shippingAddress
 ) {}
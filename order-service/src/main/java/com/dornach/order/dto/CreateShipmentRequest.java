@@ -0,0 +1,12 @@
+package com.dornach.order.dto;
+
+import java.util.UUID;
+
+/**
+ * DTO sent to shipment-service to create a shipment.
+ */
+public record CreateShipmentRequest(
+    UUID orderId,
+    String recipientName,
+    String recipientAddress
+) {}
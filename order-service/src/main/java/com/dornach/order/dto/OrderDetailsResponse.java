@@ -0,0 +1,17 @@
+package com.dornach.order.dto;
+
+import java.util.List;
+
+/**
+ * An order together with its user and shipment, as shown by the UI.
+ *
+ * user and shipment are null when they could not be fetched in time;
+ * the names of the missing parts are then listed in unavailable.
+ * shipment is also null, without being unavailable, while the order has no tracking number.
+ */
+public record OrderDetailsResponse(
+    OrderResponse order,
+    UserResponse user,
+    ShipmentResponse shipment,
+    List<String> unavailable
+) {}
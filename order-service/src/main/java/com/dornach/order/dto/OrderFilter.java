@@ -0,0 +1,14 @@
+package com.dornach.order.dto;
+
+import com.dornach.order.domain.OrderStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Optional criteria for listing orders; null fields are not filtered on.
+ *
+ * @param from inclusive lower bound on createdAt
+ * @param to   exclusive upper bound on createdAt
+ */
+public record OrderFilter(UUID userId, OrderStatus status, Instant from, Instant to) {}
@@ -0,0 +1,21 @@
+package com.dornach.order.dto;
+
+import com.dornach.order.domain.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Order counts and revenue per status, overall and per creation day (UTC).
+ */
+public record OrderStatsResponse(
+    List<StatusTotal> byStatus,
+    LocalDate from,
+    LocalDate to,
+    List<DailyTotal> daily
+) {
+    public record StatusTotal(OrderStatus status, long count, BigDecimal revenue) {}
+
+    public record DailyTotal(LocalDate day, OrderStatus status, long count, BigDecimal revenue) {}
+}
@@ -0,0 +1,18 @@
+package com.dornach.order.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DTO representing a shipment from shipment-service.
+ */
+public record ShipmentResponse(
+    UUID id,
+    UUID orderId,
+    String trackingNumber,
+    String recipientName,
+    String recipientAddress,
+    String status,
+    Instant createdAt,
+    Instant updatedAt
+) {}
@@ -0,0 +1,12 @@
+package com.dornach.order.idempotency;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyInProgressException extends RuntimeException {
+
+    public IdempotencyInProgressException(String key) {
+        super("A request with idempotency key " + key + " is still in progress");
+    }
+}
@@ -0,0 +1,97 @@
+package com.dornach.order.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Applies the Idempotency-Key header to a POST endpoint.
+ *
+ * Without a key the action simply runs. With a key, the first request runs the
+ * action and its response is stored; retries get the stored response back,
+ * marked with Idempotent-Replayed: true, without running the action again.
+ * Reusing a key with a different request body is rejected with 422.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param key     value of the Idempotency-Key header, may be null
+     * @param scope   name of the endpoint, so that endpoints do not share keys
+     * @param request the request body, fingerprinted to detect key reuse
+     * @param type    type of the response body
+     */
+    public <T> ResponseEntity<T> execute(String key, String scope, Object request, Class<T> type,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    KEY_HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = fingerprint(request);
+        AtomicBoolean ran = new AtomicBoolean();
+        StoredResponse stored = store.execute(scope + ":" + key, () -> {
+            ran.set(true);
+            ResponseEntity<T> response = action.get();
+            return new StoredResponse(requestHash, response.getStatusCode().value(), toJson(response.getBody()));
+        });
+
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    KEY_HEADER + " " + key + " was already used for a different request");
+        }
+        return ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, String.valueOf(!ran.get()))
+                .body(fromJson(stored.body(), type));
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store response", e);
+        }
+    }
+
+    private <T> T fromJson(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored response", e);
+        }
+    }
+}
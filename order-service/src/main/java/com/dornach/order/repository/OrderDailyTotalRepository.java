@@ -0,0 +1,45 @@
+package com.dornach.order.repository;
+
+import com.dornach.order.domain.OrderDailyTotal;
+import com.dornach.order.domain.OrderStatus;
+import com.dornach.order.dto.OrderStatsResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface OrderDailyTotalRepository extends JpaRepository<OrderDailyTotal, OrderDailyTotal.Key> {
+
+    /**
+     * @return 1 if the row exists and was updated, 0 if it has to be created first
+     */
+    @Modifying
+    @Query("""
+            UPDATE OrderDailyTotal t
+            SET t.orderCount = t.orderCount + :count, t.revenue = t.revenue + :revenue
+            WHERE t.day = :day AND t.status = :status AND t.shard = :shard""")
+    int increment(LocalDate day, OrderStatus status, int shard, long count, BigDecimal revenue);
+
+    /**
+     * Totals per (day, status), summed over the shards; days and statuses
+     * without orders are left out.
+     */
+    @Query("""
+            SELECT new com.dornach.order.dto.OrderStatsResponse$DailyTotal(
+                t.day, t.status, SUM(t.orderCount), SUM(t.revenue))
+            FROM OrderDailyTotal t
+            WHERE t.day >= :from AND t.day <= :to
+            GROUP BY t.day, t.status
+            HAVING SUM(t.orderCount) <> 0
+            ORDER BY t.day, t.status""")
+    List<OrderStatsResponse.DailyTotal> sumByDayBetween(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM OrderDailyTotal t")
+    int deleteAllRows();
+}
@@ -2,16 +2,79 @@ package com.dornach.order.repository;
 
 import com.dornach.order.domain.Order;
 import com.dornach.order.domain.OrderStatus;
+import com.dornach.order.dto.EntityVersion;
+import com.dornach.order.dto.OrderResponse;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, UUID> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, OrderSearchRepository,
+        OrderTransitionRepository {
+
+    // Hot lookups get a percentile histogram on top of the
+    // spring.data.repository.invocations timer every method has
 
+    @Timed(histogram = true)
     List<Order> findByUserId(UUID userId);
 
+    @Timed(histogram = true)
     List<Order> findByStatus(OrderStatus status);
+
+    // Read-only views: rows are selected straight into OrderResponse, so no
+    // entity is instantiated, snapshotted or checked at flush time.
+
+    String SELECT_RESPONSE = """
+            SELECT new com.dornach.order.dto.OrderResponse(
+                o.id, o.userId, o.productName, o.quantity, o.totalPrice, o.shippingAddress,
+                o.status, o.trackingNumber, o.createdAt, o.updatedAt)
+            FROM Order o""";
+
+    @Query(SELECT_RESPONSE + " WHERE o.id = :id")
+    Optional<OrderResponse> findResponseById(UUID id);
+
+    @Query("SELECT new com.dornach.order.dto.EntityVersion(o.id, o.updatedAt) FROM Order o WHERE o.id = :id")
+    Optional<EntityVersion> findVersionById(UUID id);
+
+    /**
+     * Forward-only cursor over orders for bulk export. Rows are fetched from
+     * the driver 500 at a time; must be consumed inside a transaction.
+     * Null filters are ignored.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT o FROM Order o
+            WHERE (:status IS NULL OR o.status = :status)
+              AND (:from IS NULL OR o.createdAt >= :from)
+              AND (:to IS NULL OR o.createdAt < :to)
+            ORDER BY o.createdAt, o.id""")
+    Stream<Order> streamForExport(OrderStatus status, Instant from, Instant to);
+
+    /**
+     * Lock the given orders that are in one of {@code from}. Used by bulk
+     * transitions to learn which rows, and from which statuses, a following
+     * {@link #transitionAll} will change; other writers wait until commit.
+     * Rows are locked in id order so that overlapping bulk calls cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids AND o.status IN :from ORDER BY o.id")
+    List<Order> lockInStatus(Collection<UUID> ids, Collection<OrderStatus> from);
 }
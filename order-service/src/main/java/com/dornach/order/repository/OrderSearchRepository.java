@@ -0,0 +1,22 @@
+package com.dornach.order.repository;
+
+import com.dornach.order.dto.OrderFilter;
+import com.dornach.order.dto.OrderResponse;
+import com.dornach.order.dto.PageCursor;
+
+import java.util.List;
+
+/**
+ * Filtered order listing, read straight into DTOs. Implemented by
+ * OrderSearchRepositoryImpl and exposed through OrderRepository.
+ */
+public interface OrderSearchRepository {
+
+    /**
+     * Orders matching the filter, in (createdAt, id) order.
+     *
+     * @param after only rows after this position, or null from the start
+     * @param limit maximum number of rows returned
+     */
+    List<OrderResponse> search(OrderFilter filter, PageCursor after, int limit);
+}
@@ -0,0 +1,68 @@
+package com.dornach.order.repository;
+
+import com.dornach.order.dto.OrderFilter;
+import com.dornach.order.dto.OrderResponse;
+import com.dornach.order.dto.PageCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the JPQL for each combination of filters instead of using
+ * "(:param IS NULL OR ...)" conditions, so the database sees plain equality
+ * and range predicates it can match to the orders indexes:
+ * (user_id, created_at, id), (status, created_at, id) and (created_at, id).
+ *
+ * Rows are selected into OrderResponse with a constructor expression: no
+ * entities are instantiated, registered in the persistence context or
+ * dirty-checked.
+ */
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    private final EntityManager entityManager;
+
+    public OrderSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<OrderResponse> search(OrderFilter filter, PageCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(OrderRepository.SELECT_RESPONSE);
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        if (filter.userId() != null) {
+            where(jpql, parameters, "o.userId = :userId", "userId", filter.userId());
+        }
+        if (filter.status() != null) {
+            where(jpql, parameters, "o.status = :status", "status", filter.status());
+        }
+        if (filter.from() != null) {
+            where(jpql, parameters, "o.createdAt >= :from", "from", filter.from());
+        }
+        if (filter.to() != null) {
+            where(jpql, parameters, "o.createdAt < :to", "to", filter.to());
+        }
+        // Keyset pagination: an index range scan from the previous page's last row
+        if (after != null) {
+            where(jpql, parameters,
+                    "(o.createdAt > :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id > :afterId))",
+                    "afterCreatedAt", after.createdAt());
+            parameters.put("afterId", after.id());
+        }
+        jpql.append(" ORDER BY o.createdAt, o.id");
+
+        TypedQuery<OrderResponse> query = entityManager.createQuery(jpql.toString(), OrderResponse.class)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    private static void where(StringBuilder jpql, Map<String, Object> parameters,
+                              String condition, String name, Object value) {
+        jpql.append(parameters.isEmpty() ? " WHERE " : " AND ").append(condition);
+        parameters.put(name, value);
+    }
+}
@@ -0,0 +1,47 @@
+package com.dornach.order.repository;
+
+import com.dornach.order.domain.OrderStatus;
+import com.dornach.order.domain.OrderStatusTotal;
+import com.dornach.order.dto.OrderStatsResponse;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface OrderStatusTotalRepository extends JpaRepository<OrderStatusTotal, OrderStatusTotal.Key> {
+
+    @Modifying
+    @Query("""
+            UPDATE OrderStatusTotal t
+            SET t.orderCount = t.orderCount + :count, t.revenue = t.revenue + :revenue
+            WHERE t.status = :status AND t.shard = :shard""")
+    int increment(OrderStatus status, int shard, long count, BigDecimal revenue);
+
+    /**
+     * Totals per status, summed over the shards.
+     */
+    @Query("""
+            SELECT new com.dornach.order.dto.OrderStatsResponse$StatusTotal(
+                t.status, SUM(t.orderCount), SUM(t.revenue))
+            FROM OrderStatusTotal t
+            GROUP BY t.status""")
+    List<OrderStatsResponse.StatusTotal> sumByStatus();
+
+    /**
+     * Lock every status row. Writers update these rows before anything else,
+     * so holding them keeps all rollup writers out during a rebuild.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM OrderStatusTotal t ORDER BY t.status, t.shard")
+    List<OrderStatusTotal> lockAll();
+
+    @Modifying
+    @Query("UPDATE OrderStatusTotal t SET t.orderCount = 0, t.revenue = 0")
+    int resetAll();
+}
@@ -0,0 +1,40 @@
+package com.dornach.order.repository;
+
+import com.dornach.order.domain.OrderStatus;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Order status transitions as single conditional UPDATEs: the WHERE clause
+ * checks the current status, so concurrent transitions cannot overwrite each
+ * other and the affected row count tells the caller whether this one applied.
+ * Implemented by OrderTransitionRepositoryImpl and exposed through
+ * OrderRepository.
+ *
+ * They bypass the persistence context, so updatedAt is set explicitly.
+ */
+public interface OrderTransitionRepository {
+
+    /**
+     * Move an order from {@code from} to {@code to}.
+     *
+     * @return 1 if the transition applied, 0 otherwise
+     */
+    int transition(UUID id, OrderStatus from, OrderStatus to, Instant now);
+
+    /**
+     * Move a CONFIRMED order to SHIPPED and record its tracking number.
+     *
+     * @return 1 if the transition applied, 0 otherwise
+     */
+    int markShipped(UUID id, String trackingNumber, Instant now);
+
+    /**
+     * Move every given order whose status is one of {@code from} to {@code to}.
+     *
+     * @return the number of orders transitioned
+     */
+    int transitionAll(Collection<UUID> ids, Collection<OrderStatus> from, OrderStatus to, Instant now);
+}
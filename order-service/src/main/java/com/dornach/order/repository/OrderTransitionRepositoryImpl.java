@@ -0,0 +1,106 @@
+package com.dornach.order.repository;
+
+import com.dornach.order.domain.Order;
+import com.dornach.order.domain.OrderStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs the transitions as JDBC UPDATEs rather than JPQL bulk updates: Hibernate
+ * answers every bulk update on a cached entity by evicting its whole region,
+ * which would empty the orders region on each status change. Instead only the
+ * changed orders are evicted from the second-level cache, by id:
+ *
+ * - right after the UPDATE, so that a read later in the same transaction
+ *   goes to the database
+ * - again once the transaction completes, dropping anything another
+ *   transaction cached from the previous row in between, or this one cached
+ *   from a row that was then rolled back
+ *
+ * Without the second-level cache the evictions are no-ops.
+ */
+public class OrderTransitionRepositoryImpl implements OrderTransitionRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public OrderTransitionRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                         EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public int transition(UUID id, OrderStatus from, OrderStatus to, Instant now) {
+        int updated = jdbcTemplate.update("""
+                UPDATE orders SET status = :to, updated_at = :now
+                WHERE id = :id AND status = :from""",
+                Map.of("id", id, "from", from.name(), "to", to.name(), "now", utc(now)));
+        if (updated > 0) {
+            evict(List.of(id));
+        }
+        return updated;
+    }
+
+    @Override
+    public int markShipped(UUID id, String trackingNumber, Instant now) {
+        int updated = jdbcTemplate.update("""
+                UPDATE orders SET status = 'SHIPPED', tracking_number = :trackingNumber, updated_at = :now
+                WHERE id = :id AND status = 'CONFIRMED'""",
+                Map.of("id", id, "trackingNumber", trackingNumber, "now", utc(now)));
+        if (updated > 0) {
+            evict(List.of(id));
+        }
+        return updated;
+    }
+
+    @Override
+    public int transitionAll(Collection<UUID> ids, Collection<OrderStatus> from, OrderStatus to, Instant now) {
+        if (ids.isEmpty() || from.isEmpty()) {
+            return 0;
+        }
+        int updated = jdbcTemplate.update("""
+                UPDATE orders SET status = :to, updated_at = :now
+                WHERE id IN (:ids) AND status IN (:from)""",
+                Map.of("ids", ids, "from", from.stream().map(OrderStatus::name).toList(),
+                        "to", to.name(), "now", utc(now)));
+        if (updated > 0) {
+            // Ids that did not match are evicted too; that only costs them a reload
+            evict(List.copyOf(ids));
+        }
+        return updated;
+    }
+
+    private void evict(List<UUID> ids) {
+        evictNow(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(ids);
+                }
+            });
+        }
+    }
+
+    private void evictNow(List<UUID> ids) {
+        var cache = entityManagerFactory.getCache();
+        for (UUID id : ids) {
+            cache.evict(Order.class, id);
+        }
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,51 @@
+package com.dornach.order.repository;
+
+import com.dornach.order.domain.OutboxEvent;
+import com.dornach.order.domain.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * Lock the oldest pending events that are due. Rows already locked by another
+     * instance are skipped (lock timeout -2 = SKIP LOCKED), so pollers never wait on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT e FROM OutboxEvent e
+            WHERE e.status = com.dornach.order.domain.OutboxStatus.PENDING
+              AND e.nextAttemptAt <= :now
+            ORDER BY e.nextAttemptAt""")
+    List<OutboxEvent> lockDue(Instant now, Limit limit);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.status = :status")
+    Instant findOldestCreatedAt(OutboxStatus status);
+
+    long countByStatus(OutboxStatus status);
+
+    /**
+     * Delete the events processed before the given instant. FAILED events are
+     * kept until someone has looked at them.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            DELETE FROM OutboxEvent e
+            WHERE e.status = com.dornach.order.domain.OutboxStatus.DONE AND e.processedAt < :before""")
+    int deleteDoneBefore(Instant before);
+}
@@ -0,0 +1,106 @@
+package com.dornach.order.service;
+
+import com.dornach.order.client.ShipmentClient;
+import com.dornach.order.client.UserClient;
+import com.dornach.order.dto.OrderDetailsResponse;
+import com.dornach.order.dto.OrderResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Builds the order details view by calling user-service and shipment-service
+ * concurrently, each on its own virtual thread, under one overall deadline.
+ * Latency is that of the slowest call, and a call that fails or misses the
+ * deadline only removes its part from the response.
+ *
+ * What happens to a call still running at the deadline depends on the client:
+ *
+ * - shipment: ShipmentClientImpl makes its own HTTP exchange, so its virtual
+ *   thread is interrupted, which aborts the exchange
+ * - user: the UserClient stack may share the work with other callers (a
+ *   CachingUserClient load, a BatchingUserClient batch, a hedge), and
+ *   interrupting it could fail the lookup for all of them. The call is left
+ *   to finish within the user client's own timeouts; its result still fills
+ *   the cache, but this response does not wait for it.
+ */
+@Service
+public class OrderDetailsService {
+
+    private static final Logger log = Logger.getLogger(OrderDetailsService.class.getName());
+
+    private final OrderService orderService;
+    private final UserClient userClient;
+    private final ShipmentClient shipmentClient;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${orders.details.timeout:2s}")
+    private Duration timeout;
+
+    public OrderDetailsService(OrderService orderService, UserClient userClient,
+                               ShipmentClient shipmentClient) {
+        this.orderService = orderService;
+        this.userClient = userClient;
+        this.shipmentClient = shipmentClient;
+    }
+
+    public OrderDetailsResponse getOrderDetails(UUID orderId) {
+        OrderResponse order = orderService.getOrderResponseById(orderId);
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        var user = fork(() -> userClient.getUserById(order.userId()));
+        var shipment = order.trackingNumber() == null
+                ? null
+                : fork(() -> shipmentClient.getShipmentByTrackingNumber(order.trackingNumber()));
+
+        List<String> unavailable = new ArrayList<>();
+        return new OrderDetailsResponse(
+                order,
+                join(user, deadline, false, "user", unavailable),
+                shipment == null ? null : join(shipment, deadline, true, "shipment", unavailable),
+                unavailable
+        );
+    }
+
+    private <T> Future<T> fork(Supplier<T> call) {
+        return executor.submit(call::get);
+    }
+
+    /**
+     * @param interrupt whether a call still running at the deadline may be
+     *                  interrupted, or must only be abandoned
+     */
+    private static <T> T join(Future<T> call, long deadline, boolean interrupt, String part,
+                              List<String> unavailable) {
+        try {
+            return call.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            call.cancel(interrupt);
+            log.warning("Order details: " + part + " not available before the deadline");
+        } catch (ExecutionException e) {
+            log.warning("Order details: " + part + " not available: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unavailable.add(part);
+        return null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
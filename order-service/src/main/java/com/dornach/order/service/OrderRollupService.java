@@ -0,0 +1,318 @@
+package com.dornach.order.service;
+
+import com.dornach.order.domain.Order;
+import com.dornach.order.domain.OrderDailyTotal;
+import com.dornach.order.domain.OrderStatus;
+import com.dornach.order.domain.OrderStatusTotal;
+import com.dornach.order.dto.OrderStatsResponse;
+import com.dornach.order.repository.OrderDailyTotalRepository;
+import com.dornach.order.repository.OrderRepository;
+import com.dornach.order.repository.OrderStatusTotalRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Order counts and revenue per status and per (creation day, status), kept up
+ * to date by OrderService and OutboxDispatcher in the same transaction as the
+ * order change, so GET /orders/stats reads a handful of rows instead of
+ * scanning the orders table.
+ *
+ * Every total is striped over orders.rollups.shards rows and summed on read.
+ * A transaction picks one shard at random and makes all its increments there,
+ * so concurrent order writes only queue behind each other when they land on
+ * the same shard, instead of all serializing on the one row per status that
+ * every creation and transition updates.
+ *
+ * Writers always update the status rows first, in status order, then the day
+ * rows. rebuild() locks the status rows of every shard, which makes it wait
+ * for in-flight writers and keeps new ones out until the recount is committed.
+ */
+@Service
+public class OrderRollupService {
+
+    private static final Logger log = Logger.getLogger(OrderRollupService.class.getName());
+
+    private static final Comparator<DayStatus> DAY_ORDER =
+            Comparator.comparing(DayStatus::day).thenComparing(DayStatus::status);
+
+    // Transaction resource holding the shard picked by the current transaction
+    private static final Object SHARD_KEY = new Object();
+
+    private final OrderStatusTotalRepository statusTotals;
+    private final OrderDailyTotalRepository dailyTotals;
+    private final OrderRepository orderRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransaction;
+
+    @Value("${orders.rollups.max-days:366}")
+    private int maxDays;
+
+    @Value("${orders.rollups.shards:16}")
+    private int shards;
+
+    public OrderRollupService(OrderStatusTotalRepository statusTotals, OrderDailyTotalRepository dailyTotals,
+                              OrderRepository orderRepository, EntityManager entityManager,
+                              PlatformTransactionManager transactionManager) {
+        this.statusTotals = statusTotals;
+        this.dailyTotals = dailyTotals;
+        this.orderRepository = orderRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Create the rollup rows and, the first time the service starts against a
+     * database that already has orders, backfill them.
+     */
+    @PostConstruct
+    void initialize() {
+        boolean empty = statusTotals.count() == 0;
+        prepareRows();
+        if (empty && orderRepository.count() > 0) {
+            log.info("Order rollups are empty, rebuilding from the orders table");
+            transactionTemplate.executeWithoutResult(status -> rebuild());
+        }
+    }
+
+    /**
+     * Create the status rows and today's and tomorrow's day rows ahead of time,
+     * so that writers only ever increment existing rows. Creating a missing row
+     * from inside a writer's transaction needs a second connection, which is
+     * the first thing to run out under load.
+     */
+    @Scheduled(fixedDelayString = "${orders.rollups.prepare-interval:1h}")
+    public void prepareRows() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (OrderStatus status : OrderStatus.values()) {
+            for (int shard = 0; shard < shards; shard++) {
+                int s = shard;
+                if (!statusTotals.existsById(new OrderStatusTotal.Key(status, s))) {
+                    createRow(() -> statusTotals.saveAndFlush(new OrderStatusTotal(status, s, 0, BigDecimal.ZERO)));
+                }
+                for (LocalDate day : List.of(today, today.plusDays(1))) {
+                    if (!dailyTotals.existsById(new OrderDailyTotal.Key(day, status, s))) {
+                        createRow(() -> dailyTotals.saveAndFlush(
+                                new OrderDailyTotal(day, status, s, 0, BigDecimal.ZERO)));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Count newly created orders, in their current status.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<Order> orders) {
+        apply(orders.stream().map(order -> Delta.of(order, order.getStatus(), 1)));
+    }
+
+    /**
+     * Move one order from one status to another.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Order order, OrderStatus from, OrderStatus to) {
+        apply(Stream.of(Delta.of(order, from, -1), Delta.of(order, to, 1)));
+    }
+
+    /**
+     * Move many orders to the same status. Each order's getStatus() must still
+     * return the status it had before the transition.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransitions(Collection<Order> orders, OrderStatus to) {
+        apply(orders.stream().flatMap(order ->
+                Stream.of(Delta.of(order, order.getStatus(), -1), Delta.of(order, to, 1))));
+    }
+
+    /**
+     * @param from first creation day to include, or null for 30 days before {@code to}
+     * @param to   last creation day to include, or null for today (UTC)
+     */
+    @Transactional(readOnly = true)
+    public OrderStatsResponse getStats(LocalDate from, LocalDate to) {
+        LocalDate last = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate first = from != null ? from : last.minusDays(30);
+        if (first.isAfter(last) || ChronoUnit.DAYS.between(first, last) >= maxDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "from must not be after to, and the range may span at most " + maxDays + " days");
+        }
+
+        Map<OrderStatus, OrderStatsResponse.StatusTotal> byStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, new OrderStatsResponse.StatusTotal(status, 0, BigDecimal.ZERO));
+        }
+        statusTotals.sumByStatus().forEach(total -> byStatus.put(total.status(), total));
+
+        List<OrderStatsResponse.DailyTotal> daily = dailyTotals.sumByDayBetween(first, last);
+        return new OrderStatsResponse(List.copyOf(byStatus.values()), first, last, daily);
+    }
+
+    /**
+     * Recompute every rollup from the orders table. Use after the rollups were
+     * lost or edited by hand; writers are blocked while it runs.
+     */
+    @Transactional
+    public void rebuild() {
+        statusTotals.lockAll();
+
+        Map<OrderStatus, Totals> byStatus = new EnumMap<>(OrderStatus.class);
+        Map<DayStatus, Totals> byDay = new TreeMap<>(DAY_ORDER);
+        long orders = 0;
+        try (Stream<Order> rows = orderRepository.streamForExport(null, null, null)) {
+            for (Order order : (Iterable<Order>) rows::iterator) {
+                Delta delta = Delta.of(order, order.getStatus(), 1);
+                byStatus.computeIfAbsent(delta.status(), s -> new Totals()).add(delta);
+                byDay.computeIfAbsent(delta.key(), k -> new Totals()).add(delta);
+                entityManager.detach(order);
+                orders++;
+            }
+        }
+
+        // The recounted totals go to shard 0, the other shards start over from zero
+        statusTotals.resetAll();
+        byStatus.forEach((status, totals) -> statusTotals.increment(status, 0, totals.count, totals.revenue));
+        // Keep the rows prepareRows() created ahead, even where they are still zero
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (OrderStatus status : OrderStatus.values()) {
+            byDay.putIfAbsent(new DayStatus(today, status), new Totals());
+            byDay.putIfAbsent(new DayStatus(today.plusDays(1), status), new Totals());
+        }
+        dailyTotals.deleteAllRows();
+        byDay.forEach((key, totals) -> {
+            entityManager.persist(new OrderDailyTotal(key.day(), key.status(), 0, totals.count, totals.revenue));
+            if (!key.day().isBefore(today)) {
+                for (int shard = 1; shard < shards; shard++) {
+                    entityManager.persist(new OrderDailyTotal(key.day(), key.status(), shard, 0, BigDecimal.ZERO));
+                }
+            }
+        });
+        entityManager.flush();
+        log.info("Rebuilt order rollups from " + orders + " orders (" + byDay.size() + " daily rows)");
+    }
+
+    private void apply(Stream<Delta> deltas) {
+        int shard = currentShard();
+        Map<OrderStatus, Totals> byStatus = new EnumMap<>(OrderStatus.class);
+        Map<DayStatus, Totals> byDay = new TreeMap<>(DAY_ORDER);
+        deltas.forEach(delta -> {
+            byStatus.computeIfAbsent(delta.status(), s -> new Totals()).add(delta);
+            byDay.computeIfAbsent(delta.key(), k -> new Totals()).add(delta);
+        });
+
+        // Rows are normally created ahead by prepareRows(); the createRow()
+        // fallbacks only cover a clock or schedule that got ahead of it.
+        // Fixed lock order (status rows, then day rows, each sorted) so that
+        // concurrent writers never deadlock on each other
+        byStatus.forEach((status, totals) -> {
+            if (totals.isZero()) {
+                return;
+            }
+            if (statusTotals.increment(status, shard, totals.count, totals.revenue) == 0) {
+                createRow(() -> statusTotals.saveAndFlush(new OrderStatusTotal(status, shard, 0, BigDecimal.ZERO)));
+                statusTotals.increment(status, shard, totals.count, totals.revenue);
+            }
+        });
+        byDay.forEach((key, totals) -> {
+            if (totals.isZero()) {
+                return;
+            }
+            if (dailyTotals.increment(key.day(), key.status(), shard, totals.count, totals.revenue) == 0) {
+                createRow(() -> dailyTotals.saveAndFlush(
+                        new OrderDailyTotal(key.day(), key.status(), shard, 0, BigDecimal.ZERO)));
+                dailyTotals.increment(key.day(), key.status(), shard, totals.count, totals.revenue);
+            }
+        });
+    }
+
+    /**
+     * The shard of the current transaction, picked at random on first use.
+     * Keeping one shard per transaction keeps the lock order above, even when
+     * a transaction records several changes.
+     */
+    private int currentShard() {
+        Integer shard = (Integer) TransactionSynchronizationManager.getResource(SHARD_KEY);
+        if (shard == null) {
+            shard = ThreadLocalRandom.current().nextInt(shards);
+            TransactionSynchronizationManager.bindResource(SHARD_KEY, shard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SHARD_KEY);
+                }
+            });
+        }
+        return shard;
+    }
+
+    /**
+     * Insert an empty rollup row in its own transaction, so that losing the
+     * race against another instance does not abort the caller's transaction.
+     */
+    private void createRow(Runnable insert) {
+        try {
+            newTransaction.executeWithoutResult(status -> insert.run());
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another writer; it can be incremented now
+        }
+    }
+
+    private record DayStatus(LocalDate day, OrderStatus status) {}
+
+    private record Delta(DayStatus key, long count, BigDecimal revenue) {
+
+        static Delta of(Order order, OrderStatus status, int sign) {
+            LocalDate day = LocalDate.ofInstant(order.getCreatedAt(), ZoneOffset.UTC);
+            BigDecimal revenue = sign < 0 ? order.getTotalPrice().negate() : order.getTotalPrice();
+            return new Delta(new DayStatus(day, status), sign, revenue);
+        }
+
+        OrderStatus status() {
+            return key.status();
+        }
+    }
+
+    private static final class Totals {
+        long count;
+        BigDecimal revenue = BigDecimal.ZERO;
+
+        void add(Delta delta) {
+            count += delta.count();
+            revenue = revenue.add(delta.revenue());
+        }
+
+        boolean isZero() {
+            return count == 0 && revenue.signum() == 0;
+        }
+    }
+}
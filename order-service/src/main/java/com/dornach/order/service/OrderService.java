@@ -1,14 +1,46 @@
 package com.dornach.order.service;
 
 import com.dornach.order.client.UserClient;
+import com.dornach.order.client.UserNotFoundException;
 import com.dornach.order.domain.Order;
 import com.dornach.order.domain.OrderStatus;
+import com.dornach.order.domain.OutboxEvent;
+import com.dornach.order.domain.OutboxEventType;
+import com.dornach.order.dto.BatchItemResult;
 import com.dornach.order.dto.CreateOrderRequest;
+import com.dornach.order.dto.CursorPage;
+import com.dornach.order.dto.EntityVersion;
+import com.dornach.order.dto.OrderFilter;
+import com.dornach.order.dto.OrderResponse;
+import com.dornach.order.dto.PageCursor;
+import com.dornach.order.dto.UserResponse;
 import com.dornach.order.repository.OrderRepository;
+import com.dornach.order.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.logging.Logger;
 
 @Service
@@ -18,15 +50,72 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
     private final UserClient userClient;
-    // TODO (Step 2 - Challenge): Add ShipmentClient
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxEventRepository outboxRepository;
+    private final OrderRollupService rollups;
 
-    public OrderService(OrderRepository orderRepository, UserClient userClient) {
+    @Value("${pagination.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${entity-cache.enabled:false}")
+    private boolean entityCacheEnabled;
+
+    @Value("${orders.batch.max-items:5000}")
+    private int maxBatchItems;
+
+    // One transaction per chunk, sized to match Hibernate's JDBC batch
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchChunkSize;
+
+    public OrderService(OrderRepository orderRepository, UserClient userClient,
+                        OutboxEventRepository outboxRepository, OrderRollupService rollups,
+                        EntityManager entityManager, Validator validator,
+                        PlatformTransactionManager transactionManager) {
         this.orderRepository = orderRepository;
         this.userClient = userClient;
+        this.outboxRepository = outboxRepository;
+        this.rollups = rollups;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * List orders matching the filter one page at a time, ordered by (createdAt, id).
+     * Rows are read as DTOs, in a read-only transaction.
+     *
+     * @param cursor token returned with the previous page, or null for the first page;
+     *               it is only valid with the filter that produced it
+     * @param size   requested page size, clamped to [1, pagination.max-size]
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getOrders(OrderFilter filter, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, maxPageSize);
+        PageCursor after = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+        List<OrderResponse> rows = orderRepository.search(filter, after, pageSize + 1);
+        return CursorPage.of(rows, pageSize, o -> new PageCursor(o.createdAt(), o.id()));
     }
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    /**
+     * Feed every order matching the filters to the consumer, one at a time.
+     *
+     * Rows come from a database cursor and are detached once consumed, so the
+     * persistence context never holds more than one order whatever the table size.
+     *
+     * @param status only orders in this status, or null for all
+     * @param from   inclusive lower bound on createdAt, or null
+     * @param to     exclusive upper bound on createdAt, or null
+     */
+    @Transactional(readOnly = true)
+    public void exportOrders(OrderStatus status, Instant from, Instant to, Consumer<Order> consumer) {
+        try (Stream<Order> orders = orderRepository.streamForExport(status, from, to)) {
+            orders.forEach(order -> {
+                consumer.accept(order);
+                entityManager.detach(order);
+            });
+        }
     }
 
     public Order getOrderById(UUID id) {
@@ -35,20 +124,47 @@ public class OrderService {
     }
 
     /**
-     * Create a new order.
+     * Version of an order, for conditional GETs: a single-column read, or the
+     * cached entity when the second-level cache is enabled.
+     */
+    @Transactional(readOnly = true)
+    public EntityVersion getOrderVersion(UUID id) {
+        var version = entityCacheEnabled
+                ? orderRepository.findById(id).map(o -> new EntityVersion(o.getId(), o.getUpdatedAt()))
+                : orderRepository.findVersionById(id);
+        return version.orElseThrow(() -> new RuntimeException("Order not found: " + id));
+    }
+
+    /**
+     * Read-only view of an order, read straight into the response DTO, or
+     * from the second-level cache when it is enabled.
+     */
+    @Transactional(readOnly = true)
+    public OrderResponse getOrderResponseById(UUID id) {
+        var order = entityCacheEnabled
+                ? orderRepository.findById(id).map(OrderResponse::from)
+                : orderRepository.findResponseById(id);
+        return order.orElseThrow(() -> new RuntimeException("Order not found: " + id));
+    }
+
+    /**
+     * Create a new order, in PENDING status, for a user that exists in
+     * user-service. The user is looked up through the UserClient stack, so
+     * repeated orders for the same user are answered by its cache.
      *
-     * TODO (Step 2 - Exercise 5):
-     * 1. Call userClient.getUserById() to validate the user exists
-     * 2. Log the user's name
-     * 3. Create and save the order with PENDING status
-     * 4. Return the saved order
+     * @throws ResponseStatusException 404 if user-service does not know the user
      */
+    @Transactional
     public Order createOrder(CreateOrderRequest request) {
         log.info("Creating order for user: " + request.userId());
 
-        // TODO (Step 2): Validate user exists
-        // var user = userClient.getUserById(request.userId());
-        // log.info("User validated: " + user.firstName() + " " + user.lastName());
+        UserResponse user;
+        try {
+            user = userClient.getUserById(request.userId());
+        } catch (UserNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        log.info("User validated: " + user.firstName() + " " + user.lastName());
 
         Order order = new Order(
                 request.userId(),
@@ -58,26 +174,184 @@ public class OrderService {
                 request.shippingAddress()
         );
 
-        return orderRepository.save(order);
+        // Flush so that createdAt is assigned before the rollups read it
+        Order saved = orderRepository.saveAndFlush(order);
+        rollups.recordCreated(List.of(saved));
+        return saved;
     }
 
     /**
-     * Confirm an order and create a shipment.
+     * Create many orders at once.
      *
-     * TODO (Step 2 - Challenge): Implement shipment creation
+     * Each item is validated on its own; valid items are inserted in chunks,
+     * one transaction and one JDBC batch per chunk. If a chunk fails, its items
+     * are retried one by one so that a single bad row only fails itself.
+     *
+     * @return one result per request, in request order
      */
-    public Order confirmAndShipOrder(UUID orderId) {
-        Order order = getOrderById(orderId);
+    public List<BatchItemResult> createOrders(List<CreateOrderRequest> requests) {
+        if (requests.size() > maxBatchItems) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "A batch may contain at most " + maxBatchItems + " orders");
+        }
+        log.info("Creating batch of " + requests.size() + " orders");
 
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new IllegalStateException("Order is not in PENDING status");
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == null) {
+                results[i] = BatchItemResult.invalid(i, "item must not be null");
+                continue;
+            }
+            var violations = validator.validate(requests.get(i));
+            if (violations.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = BatchItemResult.invalid(i, describe(violations));
+            }
         }
 
-        // TODO: Create shipment via ShipmentClient
-        // var shipment = shipmentClient.createShipment(...);
-        // order.setTrackingNumber(shipment.trackingNumber());
+        for (int from = 0; from < valid.size(); from += batchChunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + batchChunkSize, valid.size()));
+            try {
+                List<Order> saved = persistChunk(chunk.stream().map(requests::get).toList());
+                for (int j = 0; j < chunk.size(); j++) {
+                    results[chunk.get(j)] = BatchItemResult.created(chunk.get(j), saved.get(j));
+                }
+            } catch (DataAccessException | PersistenceException chunkFailure) {
+                log.warning("Batch chunk failed, retrying its " + chunk.size() + " orders one by one");
+                for (int index : chunk) {
+                    try {
+                        Order saved = persistChunk(List.of(requests.get(index))).getFirst();
+                        results[index] = BatchItemResult.created(index, saved);
+                    } catch (DataAccessException | PersistenceException e) {
+                        results[index] = BatchItemResult.failed(index,
+                                NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    }
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<Order> persistChunk(List<CreateOrderRequest> chunk) {
+        return transactionTemplate.execute(status -> {
+            List<Order> orders = chunk.stream().map(this::toOrder).toList();
+            orderRepository.saveAll(orders);
+            // Send the inserts as one JDBC batch now, and keep the context from growing
+            entityManager.flush();
+            rollups.recordCreated(orders);
+            entityManager.clear();
+            return orders;
+        });
+    }
 
-        order.setStatus(OrderStatus.SHIPPED);
-        return orderRepository.save(order);
+    private Order toOrder(CreateOrderRequest request) {
+        return new Order(
+                request.userId(),
+                request.productName(),
+                request.quantity(),
+                request.totalPrice(),
+                request.shippingAddress()
+        );
+    }
+
+    private static String describe(Set<ConstraintViolation<CreateOrderRequest>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Confirm an order.
+     *
+     * The shipment is not created here: an outbox event is recorded in the same
+     * transaction, and OutboxDispatcher creates the shipment afterwards, then
+     * sets the tracking number and the SHIPPED status.
+     */
+    @Transactional
+    public Order confirmOrder(UUID orderId) {
+        Order order = transition(orderId, OrderStatus.CONFIRMED);
+        outboxRepository.save(new OutboxEvent(orderId, OutboxEventType.SHIP_ORDER));
+        return order;
+    }
+
+    /**
+     * Mark a SHIPPED order as DELIVERED.
+     */
+    @Transactional
+    public Order deliverOrder(UUID orderId) {
+        return transition(orderId, OrderStatus.DELIVERED);
+    }
+
+    /**
+     * Cancel an order that has not shipped yet. If it was already CONFIRMED,
+     * OutboxDispatcher drops its pending shipment event.
+     */
+    @Transactional
+    public Order cancelOrder(UUID orderId) {
+        return transition(orderId, OrderStatus.CANCELLED);
+    }
+
+    /**
+     * Move many orders to the same status at once. Orders that are missing or
+     * not in a status the target can be reached from are left untouched.
+     *
+     * SHIPPED is not accepted: it needs a tracking number and is only set by
+     * OutboxDispatcher.
+     *
+     * @return the ids of the orders that were transitioned
+     */
+    @Transactional
+    public List<UUID> transitionOrders(Collection<UUID> orderIds, OrderStatus target) {
+        if (target == OrderStatus.SHIPPED || target.allowedFrom().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Orders cannot be moved to " + target + " in bulk");
+        }
+        if (orderIds.size() > maxBatchItems) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "A bulk transition may contain at most " + maxBatchItems + " orders");
+        }
+
+        Set<UUID> ids = new LinkedHashSet<>(orderIds);
+        // Lock first so the ids we report are exactly the rows the UPDATE changes
+        List<Order> eligible = orderRepository.lockInStatus(ids, target.allowedFrom());
+        if (eligible.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> eligibleIds = eligible.stream().map(Order::getId).toList();
+        orderRepository.transitionAll(eligibleIds, target.allowedFrom(), target, Instant.now());
+        // The locked entities still hold the previous statuses, which the rollups need
+        rollups.recordTransitions(eligible, target);
+        if (target == OrderStatus.CONFIRMED) {
+            outboxRepository.saveAll(eligibleIds.stream()
+                    .map(id -> new OutboxEvent(id, OutboxEventType.SHIP_ORDER))
+                    .toList());
+        }
+        log.info("Moved " + eligible.size() + " of " + ids.size() + " orders to " + target);
+        return eligibleIds;
+    }
+
+    /**
+     * Apply a single-order transition with one conditional UPDATE per status
+     * the target can be reached from (only CANCELLED has two), and update the
+     * rollups. When nothing matched, the order is read to tell a missing order
+     * from one in the wrong status.
+     *
+     * @return the order, in its new status
+     */
+    private Order transition(UUID orderId, OrderStatus target) {
+        Instant now = Instant.now();
+        for (OrderStatus from : target.allowedFrom()) {
+            if (orderRepository.transition(orderId, from, target, now) == 1) {
+                Order order = getOrderById(orderId);
+                rollups.recordTransition(order, from, target);
+                return order;
+            }
+        }
+        Order order = getOrderById(orderId);
+        throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "Order is in " + order.getStatus() + " status and cannot become " + target);
     }
 }
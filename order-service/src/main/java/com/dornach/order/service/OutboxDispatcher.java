@@ -0,0 +1,209 @@
+package com.dornach.order.service;
+
+import com.dornach.order.client.ShipmentClient;
+import com.dornach.order.client.UserClient;
+import com.dornach.order.domain.Order;
+import com.dornach.order.domain.OrderStatus;
+import com.dornach.order.domain.OutboxEvent;
+import com.dornach.order.domain.OutboxStatus;
+import com.dornach.order.dto.CreateShipmentRequest;
+import com.dornach.order.repository.OrderRepository;
+import com.dornach.order.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Carries out the shipments requested through the order outbox.
+ *
+ * Each poll locks a batch of due events, leases them so that other instances
+ * skip them, then processes them in parallel outside of any transaction:
+ * create the shipment, then write the tracking number back and mark the order
+ * SHIPPED. Failures are retried with exponential backoff until maxAttempts.
+ * DONE events are deleted once they are older than orders.outbox.retention.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+
+    private static final Logger log = Logger.getLogger(OutboxDispatcher.class.getName());
+
+    private final OutboxEventRepository outboxRepository;
+    private final OrderRepository orderRepository;
+    private final UserClient userClient;
+    private final ShipmentClient shipmentClient;
+    private final OrderRollupService rollups;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+
+    private final AtomicReference<Instant> oldestPending = new AtomicReference<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    @Value("${orders.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${orders.outbox.lease:1m}")
+    private Duration lease;
+
+    @Value("${orders.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${orders.outbox.backoff.initial:1s}")
+    private Duration initialBackoff;
+
+    @Value("${orders.outbox.backoff.max:5m}")
+    private Duration maxBackoff;
+
+    @Value("${orders.outbox.retention:7d}")
+    private Duration retention;
+
+    public OutboxDispatcher(OutboxEventRepository outboxRepository, OrderRepository orderRepository,
+                            UserClient userClient, ShipmentClient shipmentClient, OrderRollupService rollups,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                            @Value("${orders.outbox.parallelism:4}") int parallelism) {
+        this.outboxRepository = outboxRepository;
+        this.orderRepository = orderRepository;
+        this.userClient = userClient;
+        this.shipmentClient = shipmentClient;
+        this.rollups = rollups;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("outbox-", 0).factory());
+
+        TimeGauge.builder("orders.outbox.lag", this, TimeUnit.MILLISECONDS, OutboxDispatcher::lagMillis)
+                .description("Age of the oldest pending outbox event")
+                .register(meterRegistry);
+        Gauge.builder("orders.outbox.pending", pendingCount, AtomicLong::get)
+                .description("Number of pending outbox events")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.outbox.poll-interval:1s}")
+    public void dispatch() {
+        List<UUID> claimed = transactionTemplate.execute(status -> claimDueEvents());
+        if (!claimed.isEmpty()) {
+            List<Callable<Void>> tasks = claimed.stream()
+                    .<Callable<Void>>map(id -> () -> {
+                        process(id);
+                        return null;
+                    })
+                    .toList();
+            try {
+                workers.invokeAll(tasks);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        refreshBacklog();
+    }
+
+    private List<UUID> claimDueEvents() {
+        Instant now = Instant.now();
+        List<OutboxEvent> due = outboxRepository.lockDue(now, Limit.of(batchSize));
+        due.forEach(event -> event.leaseUntil(now.plus(lease)));
+        return due.stream().map(OutboxEvent::getId).toList();
+    }
+
+    private void process(UUID eventId) {
+        OutboxEvent event = outboxRepository.findById(eventId).orElseThrow();
+        try {
+            Order order = orderRepository.findById(event.getOrderId())
+                    .orElseThrow(() -> new IllegalStateException("Order not found: " + event.getOrderId()));
+            if (order.getStatus() != OrderStatus.CONFIRMED) {
+                // Cancelled (or otherwise moved on) since it was confirmed: nothing to ship
+                log.info("Order " + order.getId() + " is " + order.getStatus() + ", dropping outbox event " + eventId);
+                transactionTemplate.executeWithoutResult(status -> markDone(eventId));
+                return;
+            }
+            var user = userClient.getUserById(order.getUserId());
+            var shipment = shipmentClient.createShipment(new CreateShipmentRequest(
+                    order.getId(),
+                    user.firstName() + " " + user.lastName(),
+                    order.getShippingAddress()
+            ));
+            transactionTemplate.executeWithoutResult(status -> markShipped(eventId, shipment.trackingNumber()));
+            log.info("Order " + order.getId() + " shipped with tracking number " + shipment.trackingNumber());
+        } catch (RuntimeException e) {
+            log.warning("Outbox event " + eventId + " failed (attempt " + (event.getAttempts() + 1) + "): "
+                    + e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> recordFailure(eventId, e));
+        }
+    }
+
+    private void markShipped(UUID eventId, String trackingNumber) {
+        OutboxEvent event = outboxRepository.findById(eventId).orElseThrow();
+        if (orderRepository.markShipped(event.getOrderId(), trackingNumber, Instant.now()) == 1) {
+            Order order = orderRepository.findById(event.getOrderId()).orElseThrow();
+            rollups.recordTransition(order, OrderStatus.CONFIRMED, OrderStatus.SHIPPED);
+        } else {
+            log.warning("Order " + event.getOrderId() + " left CONFIRMED while shipment "
+                    + trackingNumber + " was being created; status not changed");
+        }
+        event.markDone(Instant.now());
+    }
+
+    private void markDone(UUID eventId) {
+        outboxRepository.findById(eventId).orElseThrow().markDone(Instant.now());
+    }
+
+    private void recordFailure(UUID eventId, RuntimeException error) {
+        OutboxEvent event = outboxRepository.findById(eventId).orElseThrow();
+        int attempt = event.getAttempts() + 1;
+        Instant retryAt = attempt >= maxAttempts ? null : Instant.now().plus(backoff(attempt));
+        event.recordFailure(error.toString(), retryAt);
+        if (retryAt == null) {
+            log.severe("Giving up on outbox event " + eventId + " after " + attempt + " attempts");
+        }
+    }
+
+    /**
+     * initialBackoff * 2^(attempt - 1), capped at maxBackoff.
+     */
+    private Duration backoff(int attempt) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    @Scheduled(fixedDelayString = "${orders.outbox.purge-interval:10m}")
+    public void purgeDone() {
+        int purged = outboxRepository.deleteDoneBefore(Instant.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged " + purged + " processed outbox events");
+        }
+    }
+
+    private void refreshBacklog() {
+        oldestPending.set(outboxRepository.findOldestCreatedAt(OutboxStatus.PENDING));
+        pendingCount.set(outboxRepository.countByStatus(OutboxStatus.PENDING));
+    }
+
+    private double lagMillis() {
+        Instant oldest = oldestPending.get();
+        return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,25 @@
+package com.dornach.shipment.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * CBOR (application/cbor) next to JSON for service-to-service calls.
+ *
+ * The converter replaces Spring's default CBOR one but keeps its place after
+ * the JSON converter, so callers that send no Accept header or accept any
+ * type still get JSON; only clients that ask for CBOR first receive it.
+ * It is built from Boot's Jackson builder so both formats share the same
+ * modules and spring.jackson.* settings.
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
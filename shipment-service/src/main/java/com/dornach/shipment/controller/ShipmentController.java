@@ -1,13 +1,26 @@
 package com.dornach.shipment.controller;
 
 import com.dornach.shipment.dto.CreateShipmentRequest;
+import com.dornach.shipment.dto.EntityVersion;
 import com.dornach.shipment.dto.ShipmentResponse;
+import com.dornach.shipment.dto.StatusIngestionResponse;
+import com.dornach.shipment.idempotency.IdempotencyService;
 import com.dornach.shipment.service.ShipmentService;
+import com.dornach.shipment.service.StatusEventReader;
+import com.dornach.shipment.service.StatusIngestionService;
+import com.dornach.shipment.tracking.TrackingCache;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,36 +28,126 @@ import java.util.UUID;
 @RequestMapping("/shipments")
 public class ShipmentController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TEXT_CSV_VALUE = "text/csv";
+
     private final ShipmentService shipmentService;
+    private final IdempotencyService idempotencyService;
+    private final TrackingCache trackingCache;
+    private final StatusIngestionService statusIngestionService;
 
-    public ShipmentController(ShipmentService shipmentService) {
+    public ShipmentController(ShipmentService shipmentService, IdempotencyService idempotencyService,
+                              TrackingCache trackingCache, StatusIngestionService statusIngestionService) {
         this.shipmentService = shipmentService;
+        this.idempotencyService = idempotencyService;
+        this.trackingCache = trackingCache;
+        this.statusIngestionService = statusIngestionService;
     }
 
+    /**
+     * List shipments page by page. The body stays a plain array; when more rows
+     * exist, the token for the next page is returned in the X-Next-Cursor header.
+     */
     @GetMapping
-    public List<ShipmentResponse> getAllShipments() {
-        return shipmentService.getAllShipments().stream()
-                .map(ShipmentResponse::from)
-                .toList();
+    public ResponseEntity<List<ShipmentResponse>> getAllShipments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        var page = shipmentService.getShipments(cursor, size);
+        var response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
+    // Single-shipment reads carry a strong ETag built from id and updatedAt.
+    // When If-None-Match still matches, only the version is read and 304 is
+    // returned without a body.
+
     @GetMapping("/{id}")
-    public ResponseEntity<ShipmentResponse> getShipmentById(@PathVariable UUID id) {
-        var shipment = shipmentService.getShipmentById(id);
-        return ResponseEntity.ok(ShipmentResponse.from(shipment));
+    public ResponseEntity<ShipmentResponse> getShipmentById(@PathVariable UUID id, WebRequest request) {
+        if (request.checkNotModified(shipmentService.getShipmentVersion(id).eTag())) {
+            return null;
+        }
+        return withETag(shipmentService.getShipmentById(id));
     }
 
+    /**
+     * Served from the pre-serialized TrackingCache when enabled, to callers
+     * that accept JSON; callers that prefer CBOR take the regular path.
+     */
     @GetMapping("/tracking/{trackingNumber}")
-    public ResponseEntity<ShipmentResponse> getShipmentByTrackingNumber(
-            @PathVariable String trackingNumber) {
-        var shipment = shipmentService.getShipmentByTrackingNumber(trackingNumber);
-        return ResponseEntity.ok(ShipmentResponse.from(shipment));
+    public ResponseEntity<?> getShipmentByTrackingNumber(
+            @PathVariable String trackingNumber,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+        if (trackingCache.enabled() && prefersJson(accept)) {
+            var shipment = trackingCache.get(trackingNumber);
+            if (request.checkNotModified(shipment.eTag())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .eTag(shipment.eTag())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(shipment.json());
+        }
+        if (request.checkNotModified(shipmentService.getShipmentVersionByTrackingNumber(trackingNumber).eTag())) {
+            return null;
+        }
+        return withETag(shipmentService.getShipmentByTrackingNumber(trackingNumber));
+    }
+
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return true;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return false;
+            }
+        }
+        return false;
     }
 
+    private static ResponseEntity<ShipmentResponse> withETag(ShipmentResponse shipment) {
+        return ResponseEntity.ok()
+                .eTag(new EntityVersion(shipment.id(), shipment.updatedAt()).eTag())
+                .body(shipment);
+    }
+
+    /**
+     * Create a shipment. Retries carrying the same Idempotency-Key header get
+     * the first response back without running the creation again.
+     */
     @PostMapping
     public ResponseEntity<ShipmentResponse> createShipment(
+            @RequestHeader(name = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody CreateShipmentRequest request) {
-        var shipment = shipmentService.createShipment(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(ShipmentResponse.from(shipment));
+        return idempotencyService.execute(idempotencyKey, "POST /shipments", request, ShipmentResponse.class,
+                () -> {
+                    var shipment = shipmentService.createShipment(request);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(ShipmentResponse.from(shipment));
+                });
+    }
+
+    /**
+     * Apply a carrier scan feed, one event per line, as NDJSON or CSV
+     * (trackingNumber,status,timestamp). The body is read as a stream; the
+     * response counts each line's outcome and reports the throughput.
+     */
+    @PostMapping(path = "/status-events", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public StatusIngestionResponse ingestStatusEvents(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        var format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? StatusEventReader.Format.NDJSON
+                : StatusEventReader.Format.CSV;
+        var charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        return statusIngestionService.ingest(body, charset, format);
     }
 }
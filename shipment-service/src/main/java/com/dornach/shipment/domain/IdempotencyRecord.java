@@ -0,0 +1,46 @@
+package com.dornach.shipment.domain;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Row of the table-backed idempotency store. A null responseStatus means
+ * the first request with this key is still being processed; expiresAt is
+ * then the end of its lease, and once the response is stored, the end of
+ * its retention.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+
+    @Id
+    @Column(length = 300)
+    private String idempotencyKey;
+
+    @Column(length = 64)
+    private String requestHash;
+
+    private Integer responseStatus;
+
+    @Column(length = 65535)
+    private String responseBody;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    protected IdempotencyRecord() {}
+
+    // Getters
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public String getRequestHash() { return requestHash; }
+    public Integer getResponseStatus() { return responseStatus; }
+    public String getResponseBody() { return responseBody; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+}
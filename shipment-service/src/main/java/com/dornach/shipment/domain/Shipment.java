@@ -1,23 +1,33 @@
 package com.dornach.shipment.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "shipments")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "shipments")
+@NaturalIdCache(region = "shipments-by-tracking-number")
+@Table(name = "shipments", indexes = {
+        @Index(name = "idx_shipments_created_at_id", columnList = "created_at, id")
+})
 public class Shipment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
-    @Column(nullable = false)
+    @Column(nullable = false, unique = true)
     private UUID orderId;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String trackingNumber;
 
@@ -31,6 +41,9 @@ public class Shipment {
     @Column(nullable = false)
     private ShipmentStatus status = ShipmentStatus.PENDING;
 
+    // Time of the carrier event that set the status, null until the first one
+    private Instant statusChangedAt;
+
     @CreationTimestamp
     private Instant createdAt;
 
@@ -39,18 +52,17 @@ public class Shipment {
 
     protected Shipment() {}
 
-    public Shipment(UUID orderId, String recipientName, String recipientAddress) {
+    /**
+     * @param trackingNumber assigned by a TrackingNumberGenerator
+     */
+    public Shipment(UUID orderId, String trackingNumber, String recipientName, String recipientAddress) {
         this.orderId = orderId;
+        this.trackingNumber = trackingNumber;
         this.recipientName = recipientName;
         this.recipientAddress = recipientAddress;
-        this.trackingNumber = generateTrackingNumber();
         this.status = ShipmentStatus.PENDING;
     }
 
-    private String generateTrackingNumber() {
-        return "TRK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-    }
-
     // Getters and Setters
     public UUID getId() { return id; }
     public UUID getOrderId() { return orderId; }
@@ -59,6 +71,7 @@ public class Shipment {
     public String getRecipientAddress() { return recipientAddress; }
     public ShipmentStatus getStatus() { return status; }
     public void setStatus(ShipmentStatus status) { this.status = status; }
+    public Instant getStatusChangedAt() { return statusChangedAt; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
 }
@@ -1,8 +1,23 @@
 package com.dornach.shipment.domain;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum ShipmentStatus {
     PENDING,
     IN_TRANSIT,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Statuses a shipment may move to this status from. A shipment never goes
+     * back to PENDING, and DELIVERED and CANCELLED are final.
+     */
+    public Set<ShipmentStatus> allowedFrom() {
+        return switch (this) {
+            case PENDING -> EnumSet.noneOf(ShipmentStatus.class);
+            case IN_TRANSIT -> EnumSet.of(PENDING);
+            case DELIVERED, CANCELLED -> EnumSet.of(PENDING, IN_TRANSIT);
+        };
+    }
 }
@@ -0,0 +1,57 @@
+package com.dornach.shipment.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7 ids (RFC 9562): 48 bits of Unix milliseconds, a 12-bit counter
+ * in place of rand_a, then 62 random bits.
+ *
+ * New keys land at the right-hand edge of the primary key B-tree instead of
+ * on a random page, which keeps inserts on a few hot pages and the index
+ * compact. Ids issued by this JVM are strictly increasing, also within a
+ * millisecond and across threads: the (milliseconds, counter) pair is
+ * advanced with a CAS and carries into the milliseconds once the counter is
+ * exhausted, as the RFC allows. Ids from other instances are kept apart by
+ * the random bits. Existing random (v4) ids remain valid keys; they just
+ * sort apart from the new ones.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION = 0x7L << COUNTER_BITS;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // Last issued (milliseconds << COUNTER_BITS | counter)
+    private static final AtomicLong last = new AtomicLong();
+
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long timeAndCounter = last.accumulateAndGet(now, (previous, floor) -> Math.max(floor, previous + 1));
+        long mostSignificant = ((timeAndCounter >>> COUNTER_BITS) << 16) | VERSION | (timeAndCounter & COUNTER_MASK);
+        long leastSignificant = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return generate();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
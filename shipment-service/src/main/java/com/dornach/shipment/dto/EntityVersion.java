@@ -0,0 +1,23 @@
+package com.dornach.shipment.dto;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Identity and last modification time of a row, enough to build its ETag
+ * without loading the row itself.
+ */
+public record EntityVersion(UUID id, Instant updatedAt) {
+
+    /**
+     * Strong ETag of the form {@code "<id>-<updatedAt in microseconds, hex>"}.
+     * updatedAt is truncated to the microsecond, the precision the database
+     * stores, so a value read back from the database matches the one held in
+     * memory after a write.
+     */
+    public String eTag() {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt);
+        return "\"" + id + "-" + Long.toHexString(micros) + "\"";
+    }
+}
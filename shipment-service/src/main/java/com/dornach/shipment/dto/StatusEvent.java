@@ -0,0 +1,14 @@
+package com.dornach.shipment.dto;
+
+import com.dornach.shipment.domain.ShipmentStatus;
+
+import java.time.Instant;
+
+/**
+ * One carrier scan: the shipment reached this status at this time.
+ */
+public record StatusEvent(
+    String trackingNumber,
+    ShipmentStatus status,
+    Instant timestamp
+) {}
@@ -0,0 +1,27 @@
+package com.dornach.shipment.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk status ingestion. Every line received is counted once:
+ *
+ * - invalid: could not be parsed, see errors
+ * - collapsed: merged into a later event for the same shipment in its batch
+ * - applied: changed the shipment's status
+ * - rejected: older than the shipment's last applied event, or not a forward
+ *   move from its current status
+ * - unknown: no shipment has this tracking number
+ *
+ * @param errors the first invalid lines, as "line N: reason"
+ */
+public record StatusIngestionResponse(
+    long received,
+    long invalid,
+    long collapsed,
+    long applied,
+    long rejected,
+    long unknown,
+    long elapsedMs,
+    double rowsPerSecond,
+    List<String> errors
+) {}
@@ -0,0 +1,113 @@
+package com.dornach.shipment.idempotency;
+
+import com.dornach.shipment.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Cluster-wide store backed by the idempotency_keys table.
+ *
+ * The primary key on the idempotency key decides which instance runs the
+ * request; the others poll the row until its response is written.
+ *
+ * - a claim holds the key for idempotency.lease only, so a claim left behind
+ *   by an instance that died mid-request is taken over by the next request
+ *   with the key once the lease has run out. The lease must be longer than
+ *   the slowest request, or a request still running may be run a second time
+ * - storing the response extends the row to idempotency.ttl
+ * - expired rows are purged periodically
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger log = Logger.getLogger(DatabaseIdempotencyStore.class.getName());
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository repository,
+                                    @Value("${idempotency.ttl:24h}") Duration ttl,
+                                    @Value("${idempotency.lease:30s}") Duration lease,
+                                    @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout,
+                                    @Value("${idempotency.poll-interval:50ms}") Duration pollInterval) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public StoredResponse execute(String key, Supplier<StoredResponse> action) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            // Microseconds, the precision the claim is stored and matched with
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+            if (tryClaim(key, now)) {
+                return run(key, now, action);
+            }
+            if (repository.deleteIfExpired(key, now) > 0) {
+                continue;
+            }
+            Optional<StoredResponse> completed = repository.findCompleted(key);
+            if (completed.isPresent()) {
+                return completed.get();
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IdempotencyInProgressException(key);
+            }
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyInProgressException(key);
+            }
+        }
+    }
+
+    private boolean tryClaim(String key, Instant now) {
+        try {
+            repository.insertInProgress(key, now, now.plus(lease));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private StoredResponse run(String key, Instant claimedAt, Supplier<StoredResponse> action) {
+        StoredResponse response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            repository.release(key, claimedAt);
+            throw e;
+        }
+        if (repository.complete(key, claimedAt, response.requestHash(), response.status(), response.body(),
+                Instant.now().plus(ttl)) == 0) {
+            log.warning("Idempotency key " + key + " was taken over after its lease expired; response not stored");
+        }
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:10m}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.info("Purged " + purged + " expired idempotency keys");
+        }
+    }
+}
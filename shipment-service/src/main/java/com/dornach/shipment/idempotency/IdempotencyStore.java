@@ -0,0 +1,23 @@
+package com.dornach.shipment.idempotency;
+
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response given to each idempotency key for a while.
+ *
+ * Implementations must run the action at most once per live key: a concurrent
+ * caller with the same key waits for the in-flight action and gets its response.
+ * If the action throws, nothing is stored and the key can be used again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Return the response stored for the key, or run the action and store its result.
+     *
+     * @param key    the idempotency key, already scoped to the endpoint
+     * @param action produces the response on first use of the key
+     * @throws IdempotencyInProgressException if another request with this key
+     *         did not finish within the wait timeout
+     */
+    StoredResponse execute(String key, Supplier<StoredResponse> action);
+}
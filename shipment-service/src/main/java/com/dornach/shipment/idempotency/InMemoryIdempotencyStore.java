@@ -0,0 +1,70 @@
+package com.dornach.shipment.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-node store: keys live in a bounded in-process cache and expire after the TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+    private final Duration waitTimeout;
+
+    public InMemoryIdempotencyStore(@Value("${idempotency.ttl:24h}") Duration ttl,
+                                    @Value("${idempotency.max-keys:100000}") long maxKeys,
+                                    @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    public StoredResponse execute(String key, Supplier<StoredResponse> action) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            CompletableFuture<StoredResponse> claim = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> inFlight = responses.asMap().putIfAbsent(key, claim);
+            if (inFlight == null) {
+                return run(key, claim, action);
+            }
+            try {
+                return inFlight.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                // The first request failed and released the key: try to claim it ourselves
+            } catch (TimeoutException e) {
+                throw new IdempotencyInProgressException(key);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyInProgressException(key);
+            }
+        }
+    }
+
+    private StoredResponse run(String key, CompletableFuture<StoredResponse> claim,
+                               Supplier<StoredResponse> action) {
+        try {
+            StoredResponse response = action.get();
+            claim.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            responses.asMap().remove(key, claim);
+            claim.completeExceptionally(e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.dornach.shipment.idempotency;
+
+/**
+ * Response recorded for an idempotency key.
+ *
+ * @param requestHash fingerprint of the request that produced it
+ * @param status      HTTP status code
+ * @param body        JSON body
+ */
+public record StoredResponse(String requestHash, int status, String body) {}
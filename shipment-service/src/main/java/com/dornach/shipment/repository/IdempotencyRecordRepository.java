@@ -0,0 +1,71 @@
+package com.dornach.shipment.repository;
+
+import com.dornach.shipment.domain.IdempotencyRecord;
+import com.dornach.shipment.idempotency.StoredResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Statements of the table-backed idempotency store. Every statement runs in
+ * its own transaction and reads return plain values, never managed entities,
+ * so polling always sees the latest committed row.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claim a key until leaseUntil. Fails with a DataIntegrityViolationException
+     * if the key exists. createdAt identifies this claim in complete and release.
+     * The table is declared as the only one touched, otherwise Hibernate would
+     * evict every second-level cache region on each native insert.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(nativeQuery = true, value = """
+            INSERT INTO idempotency_keys (idempotency_key, created_at, expires_at)
+            VALUES (:key, :claimedAt, :leaseUntil)""")
+    void insertInProgress(String key, Instant claimedAt, Instant leaseUntil);
+
+    // complete and release only touch the row of the given claim: once its
+    // lease expired, the key may have been claimed again by another request
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyRecord r
+            SET r.requestHash = :requestHash, r.responseStatus = :status, r.responseBody = :body,
+                r.expiresAt = :expiresAt
+            WHERE r.idempotencyKey = :key AND r.createdAt = :claimedAt""")
+    int complete(String key, Instant claimedAt, String requestHash, int status, String body, Instant expiresAt);
+
+    @Query("""
+            SELECT new com.dornach.shipment.idempotency.StoredResponse(r.requestHash, r.responseStatus, r.responseBody)
+            FROM IdempotencyRecord r
+            WHERE r.idempotencyKey = :key AND r.responseStatus IS NOT NULL""")
+    Optional<StoredResponse> findCompleted(String key);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.createdAt = :claimedAt")
+    int release(String key, Instant claimedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.expiresAt < :now")
+    int deleteIfExpired(String key, Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
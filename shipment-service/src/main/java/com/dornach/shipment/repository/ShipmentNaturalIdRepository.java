@@ -0,0 +1,16 @@
+package com.dornach.shipment.repository;
+
+import com.dornach.shipment.domain.Shipment;
+import io.micrometer.core.annotation.Timed;
+
+import java.util.Optional;
+
+/**
+ * Lookups by the shipment's natural id, the tracking number. Implemented by
+ * ShipmentNaturalIdRepositoryImpl and exposed through ShipmentRepository.
+ */
+public interface ShipmentNaturalIdRepository {
+
+    @Timed(histogram = true)
+    Optional<Shipment> findByTrackingNumber(String trackingNumber);
+}
@@ -0,0 +1,28 @@
+package com.dornach.shipment.repository;
+
+import com.dornach.shipment.domain.Shipment;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * Goes through Hibernate's natural-id API rather than a derived query, so that
+ * with the second-level cache enabled a repeated lookup is answered from the
+ * natural-id and entity regions without touching the database.
+ */
+public class ShipmentNaturalIdRepositoryImpl implements ShipmentNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    public ShipmentNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Shipment> findByTrackingNumber(String trackingNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Shipment.class)
+                .loadOptional(trackingNumber);
+    }
+}
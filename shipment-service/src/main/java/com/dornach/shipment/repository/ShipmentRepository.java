@@ -1,16 +1,57 @@
 package com.dornach.shipment.repository;
 
 import com.dornach.shipment.domain.Shipment;
+import com.dornach.shipment.dto.EntityVersion;
+import com.dornach.shipment.dto.ShipmentResponse;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ShipmentRepository extends JpaRepository<Shipment, UUID> {
+public interface ShipmentRepository extends JpaRepository<Shipment, UUID>, ShipmentNaturalIdRepository {
 
     Optional<Shipment> findByOrderId(UUID orderId);
 
-    Optional<Shipment> findByTrackingNumber(String trackingNumber);
+    // Read-only views: rows are selected straight into ShipmentResponse, so no
+    // entity is instantiated, snapshotted or checked at flush time.
+
+    String SELECT_RESPONSE = """
+            SELECT new com.dornach.shipment.dto.ShipmentResponse(
+                s.id, s.orderId, s.trackingNumber, s.recipientName, s.recipientAddress,
+                s.status, s.createdAt, s.updatedAt)
+            FROM Shipment s""";
+
+    @Query(SELECT_RESPONSE + " WHERE s.id = :id")
+    Optional<ShipmentResponse> findResponseById(UUID id);
+
+    // Tracking-number lookups are the hot path: percentile histogram on top of
+    // the spring.data.repository.invocations timer every method has
+    @Timed(histogram = true)
+    @Query(SELECT_RESPONSE + " WHERE s.trackingNumber = :trackingNumber")
+    Optional<ShipmentResponse> findResponseByTrackingNumber(String trackingNumber);
+
+    @Query("SELECT new com.dornach.shipment.dto.EntityVersion(s.id, s.updatedAt) FROM Shipment s WHERE s.id = :id")
+    Optional<EntityVersion> findVersionById(UUID id);
+
+    @Query("""
+            SELECT new com.dornach.shipment.dto.EntityVersion(s.id, s.updatedAt)
+            FROM Shipment s WHERE s.trackingNumber = :trackingNumber""")
+    Optional<EntityVersion> findVersionByTrackingNumber(String trackingNumber);
+
+    // Keyset pagination on (createdAt, id), see ShipmentService#getShipments
+
+    @Query(SELECT_RESPONSE + " ORDER BY s.createdAt, s.id")
+    List<ShipmentResponse> findFirstPage(Limit limit);
+
+    @Query(SELECT_RESPONSE + """
+             WHERE s.createdAt > :createdAt OR (s.createdAt = :createdAt AND s.id > :id)
+            ORDER BY s.createdAt, s.id""")
+    List<ShipmentResponse> findPageAfter(Instant createdAt, UUID id, Limit limit);
 }
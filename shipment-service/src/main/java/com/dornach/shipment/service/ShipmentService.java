@@ -2,8 +2,16 @@ package com.dornach.shipment.service;
 
 import com.dornach.shipment.domain.Shipment;
 import com.dornach.shipment.dto.CreateShipmentRequest;
+import com.dornach.shipment.dto.CursorPage;
+import com.dornach.shipment.dto.EntityVersion;
+import com.dornach.shipment.dto.PageCursor;
+import com.dornach.shipment.dto.ShipmentResponse;
 import com.dornach.shipment.repository.ShipmentRepository;
+import com.dornach.shipment.tracking.TrackingNumberGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -12,28 +20,96 @@ import java.util.UUID;
 public class ShipmentService {
 
     private final ShipmentRepository shipmentRepository;
+    private final TrackingNumberGenerator trackingNumbers;
 
-    public ShipmentService(ShipmentRepository shipmentRepository) {
+    @Value("${pagination.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${entity-cache.enabled:false}")
+    private boolean entityCacheEnabled;
+
+    public ShipmentService(ShipmentRepository shipmentRepository, TrackingNumberGenerator trackingNumbers) {
         this.shipmentRepository = shipmentRepository;
+        this.trackingNumbers = trackingNumbers;
+    }
+
+    /**
+     * List shipments one page at a time, ordered by (createdAt, id).
+     * Rows are read as DTOs, in a read-only transaction.
+     *
+     * @param cursor token returned with the previous page, or null for the first page
+     * @param size   requested page size, clamped to [1, pagination.max-size]
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ShipmentResponse> getShipments(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, maxPageSize);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<ShipmentResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = shipmentRepository.findFirstPage(limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = shipmentRepository.findPageAfter(after.createdAt(), after.id(), limit);
+        }
+        return CursorPage.of(rows, pageSize, s -> new PageCursor(s.createdAt(), s.id()));
+    }
+
+    // Single-shipment reads are DTO projections, or go through the
+    // second-level cache when it is enabled
+
+    @Transactional(readOnly = true)
+    public ShipmentResponse getShipmentById(UUID id) {
+        var shipment = entityCacheEnabled
+                ? shipmentRepository.findById(id).map(ShipmentResponse::from)
+                : shipmentRepository.findResponseById(id);
+        return shipment.orElseThrow(() -> new RuntimeException("Shipment not found: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public ShipmentResponse getShipmentByTrackingNumber(String trackingNumber) {
+        var shipment = entityCacheEnabled
+                ? shipmentRepository.findByTrackingNumber(trackingNumber).map(ShipmentResponse::from)
+                : shipmentRepository.findResponseByTrackingNumber(trackingNumber);
+        return shipment.orElseThrow(() -> new RuntimeException("Shipment not found: " + trackingNumber));
     }
 
-    public List<Shipment> getAllShipments() {
-        return shipmentRepository.findAll();
+    // Versions for conditional GETs: a two-column read, or the cached entity
+    // when the second-level cache is enabled
+
+    @Transactional(readOnly = true)
+    public EntityVersion getShipmentVersion(UUID id) {
+        var version = entityCacheEnabled
+                ? shipmentRepository.findById(id).map(ShipmentService::versionOf)
+                : shipmentRepository.findVersionById(id);
+        return version.orElseThrow(() -> new RuntimeException("Shipment not found: " + id));
     }
 
-    public Shipment getShipmentById(UUID id) {
-        return shipmentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Shipment not found: " + id));
+    @Transactional(readOnly = true)
+    public EntityVersion getShipmentVersionByTrackingNumber(String trackingNumber) {
+        var version = entityCacheEnabled
+                ? shipmentRepository.findByTrackingNumber(trackingNumber).map(ShipmentService::versionOf)
+                : shipmentRepository.findVersionByTrackingNumber(trackingNumber);
+        return version.orElseThrow(() -> new RuntimeException("Shipment not found: " + trackingNumber));
     }
 
-    public Shipment getShipmentByTrackingNumber(String trackingNumber) {
-        return shipmentRepository.findByTrackingNumber(trackingNumber)
-                .orElseThrow(() -> new RuntimeException("Shipment not found: " + trackingNumber));
+    private static EntityVersion versionOf(Shipment shipment) {
+        return new EntityVersion(shipment.getId(), shipment.getUpdatedAt());
     }
 
+    /**
+     * Create the shipment of an order. An order has at most one shipment: if it
+     * already exists it is returned as is, so callers can safely retry.
+     */
     public Shipment createShipment(CreateShipmentRequest request) {
+        var existing = shipmentRepository.findByOrderId(request.orderId());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
         Shipment shipment = new Shipment(
                 request.orderId(),
+                trackingNumbers.next(),
                 request.recipientName(),
                 request.recipientAddress()
         );
@@ -0,0 +1,91 @@
+package com.dornach.shipment.service;
+
+import com.dornach.shipment.domain.ShipmentStatus;
+import com.dornach.shipment.dto.StatusEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads status events one line at a time, so a feed of any size is never
+ * held in memory. Blank lines are skipped; a line that cannot be parsed is
+ * returned with its error instead of failing the whole feed.
+ *
+ * - NDJSON: {"trackingNumber": "...", "status": "IN_TRANSIT", "timestamp": "2025-06-01T10:15:30Z"}
+ * - CSV: trackingNumber,status,timestamp with an optional header line
+ */
+public class StatusEventReader implements Closeable {
+
+    public enum Format { NDJSON, CSV }
+
+    /**
+     * A parsed line: either event or error is set.
+     */
+    public record Line(long number, StatusEvent event, String error) {}
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectReader jsonReader;
+    private long lineNumber;
+
+    public StatusEventReader(InputStream in, Charset charset, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, charset));
+        this.format = format;
+        this.jsonReader = objectMapper.readerFor(StatusEvent.class);
+    }
+
+    /**
+     * @return the next non-blank line, or null at the end of the input
+     */
+    public Line next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (text.isBlank() || (lineNumber == 1 && isCsvHeader(text)));
+
+        try {
+            StatusEvent event = format == Format.NDJSON ? jsonReader.readValue(text) : parseCsv(text);
+            if (event.trackingNumber() == null || event.trackingNumber().isBlank()
+                    || event.status() == null || event.timestamp() == null) {
+                return new Line(lineNumber, null, "trackingNumber, status and timestamp are required");
+            }
+            return new Line(lineNumber, event, null);
+        } catch (JsonProcessingException e) {
+            return new Line(lineNumber, null, e.getOriginalMessage());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return new Line(lineNumber, null, e.getMessage());
+        }
+    }
+
+    private boolean isCsvHeader(String text) {
+        return format == Format.CSV && text.strip().toLowerCase().startsWith("trackingnumber");
+    }
+
+    private static StatusEvent parseCsv(String text) {
+        String[] fields = text.split(",", -1);
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("expected 3 fields, got " + fields.length);
+        }
+        return new StatusEvent(fields[0].strip(),
+                ShipmentStatus.valueOf(fields[1].strip()),
+                Instant.parse(fields[2].strip()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
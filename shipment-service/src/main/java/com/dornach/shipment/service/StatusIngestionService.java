@@ -0,0 +1,255 @@
+package com.dornach.shipment.service;
+
+import com.dornach.shipment.domain.Shipment;
+import com.dornach.shipment.domain.ShipmentStatus;
+import com.dornach.shipment.dto.StatusEvent;
+import com.dornach.shipment.dto.StatusIngestionResponse;
+import com.dornach.shipment.tracking.TrackingCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Applies carrier scan feeds to shipment statuses. The feed is read as a
+ * stream and applied batch by batch (shipments.status-ingestion.batch-size
+ * lines), each batch in its own transaction:
+ *
+ * - events for the same shipment are collapsed in timestamp order into the
+ *   last one that moves the status forward; repeated scans of the same status
+ *   and in-batch regressions are dropped
+ * - the survivors are written with one conditional UPDATE per shipment, sent
+ *   as a JDBC batch per target status. The WHERE clause only matches a
+ *   shipment whose current status allows the move and whose last applied event
+ *   is older, so out-of-order events are rejected without reading the rows
+ *   first, and concurrent feeds cannot regress a status
+ * - the UPDATEs bypass Hibernate, so updatedAt is set explicitly and the
+ *   applied shipments are dropped from the second-level cache, by id, and
+ *   from the TrackingCache once the batch has committed
+ *
+ * Outcomes are counted in shipment.status.events{outcome}, so the ingestion
+ * rate can also be read from the metrics.
+ */
+@Service
+public class StatusIngestionService {
+
+    private static final Logger log = Logger.getLogger(StatusIngestionService.class.getName());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TrackingCache trackingCache;
+    private final ObjectMapper objectMapper;
+    private final Map<ShipmentStatus, String> updateByTarget = new EnumMap<>(ShipmentStatus.class);
+    private final Map<String, Counter> outcomes = new LinkedHashMap<>();
+
+    @Value("${shipments.status-ingestion.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${shipments.status-ingestion.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Value("${entity-cache.enabled:false}")
+    private boolean entityCacheEnabled;
+
+    public StatusIngestionService(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  EntityManagerFactory entityManagerFactory, TrackingCache trackingCache,
+                                  ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.trackingCache = trackingCache;
+        this.objectMapper = objectMapper;
+
+        // The allowed source statuses are inlined so every row of a target's
+        // batch shares the same statement
+        for (ShipmentStatus target : ShipmentStatus.values()) {
+            if (target.allowedFrom().isEmpty()) {
+                continue;
+            }
+            String from = target.allowedFrom().stream()
+                    .map(status -> "'" + status.name() + "'")
+                    .collect(Collectors.joining(", "));
+            updateByTarget.put(target, """
+                    UPDATE shipments SET status = ?, status_changed_at = ?, updated_at = ?
+                    WHERE tracking_number = ? AND status IN (%s)
+                    AND (status_changed_at IS NULL OR status_changed_at < ?)""".formatted(from));
+        }
+        for (String outcome : List.of("invalid", "collapsed", "applied", "rejected", "unknown")) {
+            outcomes.put(outcome, Counter.builder("shipment.status.events")
+                    .description("Carrier status events ingested, by outcome")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public StatusIngestionResponse ingest(InputStream feed, Charset charset, StatusEventReader.Format format)
+            throws IOException {
+        long started = System.nanoTime();
+        Tally tally = new Tally();
+        List<String> errors = new ArrayList<>();
+        List<StatusEvent> batch = new ArrayList<>(batchSize);
+
+        try (var reader = new StatusEventReader(feed, charset, format, objectMapper)) {
+            for (var line = reader.next(); line != null; line = reader.next()) {
+                tally.received++;
+                if (line.error() != null) {
+                    tally.invalid++;
+                    if (errors.size() < maxReportedErrors) {
+                        errors.add("line " + line.number() + ": " + line.error());
+                    }
+                    continue;
+                }
+                batch.add(line.event());
+                if (batch.size() == batchSize) {
+                    applyBatch(batch, tally);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            applyBatch(batch, tally);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : tally.received * 1e9 / elapsedNanos;
+        outcomes.get("invalid").increment(tally.invalid);
+        outcomes.get("collapsed").increment(tally.collapsed);
+        outcomes.get("applied").increment(tally.applied);
+        outcomes.get("rejected").increment(tally.rejected);
+        outcomes.get("unknown").increment(tally.unknown);
+        log.info("Ingested " + tally.received + " status events in " + elapsedNanos / 1_000_000 + " ms ("
+                + Math.round(rowsPerSecond) + " rows/s): " + tally.applied + " applied, "
+                + tally.rejected + " rejected, " + tally.collapsed + " collapsed, "
+                + tally.unknown + " unknown, " + tally.invalid + " invalid");
+        return new StatusIngestionResponse(tally.received, tally.invalid, tally.collapsed, tally.applied,
+                tally.rejected, tally.unknown, elapsedNanos / 1_000_000, rowsPerSecond, errors);
+    }
+
+    private void applyBatch(List<StatusEvent> batch, Tally tally) {
+        Map<ShipmentStatus, List<StatusEvent>> byTarget = new EnumMap<>(ShipmentStatus.class);
+        for (StatusEvent event : collapse(batch, tally)) {
+            if (updateByTarget.containsKey(event.status())) {
+                byTarget.computeIfAbsent(event.status(), status -> new ArrayList<>()).add(event);
+            } else {
+                // Nothing moves back to PENDING
+                tally.rejected++;
+            }
+        }
+        if (byTarget.isEmpty()) {
+            return;
+        }
+
+        List<String> applied = new ArrayList<>();
+        List<String> notApplied = new ArrayList<>();
+        List<UUID> appliedIds = new ArrayList<>();
+        Set<String> known = transactionTemplate.execute(status -> {
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            byTarget.forEach((target, events) -> {
+                int[] counts = jdbcTemplate.batchUpdate(updateByTarget.get(target), events.stream()
+                        .map(event -> new Object[] {
+                                target.name(), utc(event.timestamp()), now, event.trackingNumber(),
+                                utc(event.timestamp())})
+                        .toList());
+                for (int i = 0; i < counts.length; i++) {
+                    (counts[i] == 1 ? applied : notApplied).add(events.get(i).trackingNumber());
+                }
+            });
+            // Entity cache entries are keyed by id; the tracking number to id
+            // mapping never changes, so the natural-id region stays valid
+            if (entityCacheEnabled && !applied.isEmpty()) {
+                appliedIds.addAll(namedJdbcTemplate.queryForList(
+                        "SELECT id FROM shipments WHERE tracking_number IN (:trackingNumbers)",
+                        Map.of("trackingNumbers", applied), UUID.class));
+            }
+            // Tell a rejected event from an unknown tracking number, for the rows that did not match
+            return notApplied.isEmpty() ? Set.of() : new HashSet<>(namedJdbcTemplate.queryForList(
+                    "SELECT tracking_number FROM shipments WHERE tracking_number IN (:trackingNumbers)",
+                    Map.of("trackingNumbers", notApplied), String.class));
+        });
+
+        tally.applied += applied.size();
+        for (String trackingNumber : notApplied) {
+            if (known.contains(trackingNumber)) {
+                tally.rejected++;
+            } else {
+                tally.unknown++;
+            }
+        }
+        if (!applied.isEmpty()) {
+            // Entities first, so a TrackingCache reload cannot pick up a stale cached entity
+            var entityCache = entityManagerFactory.getCache();
+            for (UUID id : appliedIds) {
+                entityCache.evict(Shipment.class, id);
+            }
+            trackingCache.evict(applied);
+        }
+    }
+
+    /**
+     * Reduce a batch to at most one event per shipment: events are replayed in
+     * timestamp order, each one replacing the current candidate when it is a
+     * forward move from it. Repeats and regressions within the batch are dropped.
+     */
+    private static List<StatusEvent> collapse(List<StatusEvent> batch, Tally tally) {
+        Map<String, List<StatusEvent>> byShipment = batch.stream().collect(
+                Collectors.groupingBy(StatusEvent::trackingNumber, LinkedHashMap::new, Collectors.toList()));
+        List<StatusEvent> latest = new ArrayList<>(byShipment.size());
+        for (List<StatusEvent> events : byShipment.values()) {
+            events.sort(Comparator.comparing(StatusEvent::timestamp));
+            StatusEvent candidate = events.getFirst();
+            for (StatusEvent event : events.subList(1, events.size())) {
+                if (event.status().allowedFrom().contains(candidate.status())) {
+                    candidate = event;
+                    tally.collapsed++;
+                } else if (event.status() == candidate.status()) {
+                    tally.collapsed++;
+                } else {
+                    tally.rejected++;
+                }
+            }
+            latest.add(candidate);
+        }
+        return latest;
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static final class Tally {
+        long received;
+        long invalid;
+        long collapsed;
+        long applied;
+        long rejected;
+        long unknown;
+    }
+}
@@ -0,0 +1,69 @@
+package com.dornach.shipment.tracking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracking numbers made of time, node id and a per-node sequence, like a
+ * Snowflake id:
+ *
+ * | 41 bits: ms since 2025-01-01 UTC | 10 bits: node id | 12 bits: sequence |
+ *
+ * Numbers are unique without asking the database as long as every running
+ * instance has its own tracking-number.node-id (0-1023): within an instance
+ * the (time, sequence) pair only ever increases.
+ *
+ * Lock-free: the pair is one AtomicLong advanced with a CAS. When more than
+ * 4096 numbers are requested in one millisecond the sequence carries into the
+ * time field, so the generator briefly runs ahead of the clock instead of
+ * waiting for it; it falls back in step once the burst is over. For the same
+ * reason a clock that steps backwards never produces a number twice while
+ * the instance is running. Restarting an instance on a clock set more than
+ * a few milliseconds back could, so node ids should not be reused across a
+ * clock step.
+ */
+@Component
+@ConditionalOnProperty(name = "tracking-number.generator", havingValue = "sequence", matchIfMissing = true)
+public class SequenceTrackingNumberGenerator implements TrackingNumberGenerator {
+
+    static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int TIME_BITS = 63 - NODE_BITS - SEQUENCE_BITS;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_TIME = (1L << TIME_BITS) - 1;
+
+    private final long nodeBits;
+    // Last issued (time << SEQUENCE_BITS | sequence)
+    private final AtomicLong last = new AtomicLong();
+
+    public SequenceTrackingNumberGenerator(@Value("${tracking-number.node-id:0}") int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException(
+                    "tracking-number.node-id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    @Override
+    public String next() {
+        return TrackingNumbers.format(nextValue());
+    }
+
+    long nextValue() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long timeAndSequence = last.accumulateAndGet(now, (previous, floor) -> Math.max(floor, previous + 1));
+        long time = timeAndSequence >>> SEQUENCE_BITS;
+        if (time > MAX_TIME) {
+            throw new IllegalStateException("Tracking number time field exhausted");
+        }
+        return (time << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (timeAndSequence & SEQUENCE_MASK);
+    }
+}
@@ -0,0 +1,124 @@
+package com.dornach.shipment.tracking;
+
+import com.dornach.shipment.dto.EntityVersion;
+import com.dornach.shipment.dto.ShipmentResponse;
+import com.dornach.shipment.service.ShipmentService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read cache for GET /shipments/tracking/{trackingNumber}, keyed by tracking
+ * number and holding the response already serialized to JSON with its ETag,
+ * so a hit costs neither a query nor a serialization.
+ *
+ * - bounded by the estimated memory of its entries (tracking-cache.max-memory),
+ *   with Caffeine's W-TinyLFU eviction: a burst of one-off lookups does not
+ *   push out the numbers customers keep refreshing
+ * - concurrent misses on the same number wait for a single load
+ * - unknown numbers are not cached
+ * - {@link #evict} must be called for every shipment whose response changes;
+ *   inside a transaction the entries are dropped as soon as it completes,
+ *   before the writer returns. A load still reading the old row completes first and
+ *   is dropped with them, so no stale entry survives the eviction.
+ *
+ * Hit rate is published as cache.gets{cache=shipments-by-tracking-number-json},
+ * the estimated footprint as tracking.cache.memory.
+ */
+@Component
+public class TrackingCache {
+
+    static final String NAME = "shipments-by-tracking-number-json";
+
+    // Rough per-entry overhead: cache node, key and entry objects, array headers
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final boolean enabled;
+    private final LoadingCache<String, CachedShipment> cache;
+
+    public TrackingCache(@Value("${tracking-cache.enabled:true}") boolean enabled,
+                         @Value("${tracking-cache.max-memory:64MB}") DataSize maxMemory,
+                         @Value("${tracking-cache.ttl:10m}") Duration ttl,
+                         ShipmentService shipmentService, ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((String trackingNumber, CachedShipment shipment) -> shipment.estimatedBytes(trackingNumber))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(trackingNumber -> CachedShipment.of(
+                        shipmentService.getShipmentByTrackingNumber(trackingNumber), objectMapper));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        Gauge.builder("tracking.cache.memory", this,
+                        c -> c.cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Estimated memory held by the tracking-number cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * The shipment with this tracking number, from the cache or loaded into it.
+     * Fails like ShipmentService#getShipmentByTrackingNumber when there is none.
+     */
+    public CachedShipment get(String trackingNumber) {
+        return cache.get(trackingNumber);
+    }
+
+    /**
+     * Drop these tracking numbers, once the current transaction completes if there is one.
+     */
+    public void evict(Collection<String> trackingNumbers) {
+        if (trackingNumbers.isEmpty()) {
+            return;
+        }
+        List<String> keys = List.copyOf(trackingNumbers);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(keys);
+                }
+            });
+        } else {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    /**
+     * @param json the ShipmentResponse as sent to clients
+     */
+    public record CachedShipment(String eTag, byte[] json) {
+
+        static CachedShipment of(ShipmentResponse shipment, ObjectMapper objectMapper) {
+            try {
+                return new CachedShipment(new EntityVersion(shipment.id(), shipment.updatedAt()).eTag(),
+                        objectMapper.writeValueAsBytes(shipment));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        int estimatedBytes(String trackingNumber) {
+            return ENTRY_OVERHEAD_BYTES + json.length + 2 * (eTag.length() + trackingNumber.length());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.dornach.shipment.tracking;
+
+/**
+ * Assigns tracking numbers to new shipments.
+ *
+ * Implementations must be thread-safe and must never hand out the same
+ * number twice, including across instances of the service: the database
+ * unique constraint is a last line of defence, not a retry mechanism.
+ * The implementation is chosen with tracking-number.generator.
+ */
+public interface TrackingNumberGenerator {
+
+    String next();
+}
@@ -0,0 +1,100 @@
+package com.dornach.shipment.tracking;
+
+import java.util.Arrays;
+
+/**
+ * Text form of a tracking number: "TRK-", the value as 13 Crockford base32
+ * characters (0-9 and A-Z without I, L, O, U), then one check character
+ * computed with the Luhn mod 32 algorithm. Every single-character typo and
+ * most swaps of adjacent characters are caught by {@link #isValid}.
+ *
+ * Values are non-negative longs and are zero-padded, so tracking numbers of
+ * the same generator sort in the order they were issued.
+ */
+public final class TrackingNumbers {
+
+    static final String PREFIX = "TRK-";
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int BASE = ALPHABET.length;
+    private static final int DIGITS = 13; // 13 * 5 bits >= 63 bits
+    private static final int LENGTH = PREFIX.length() + DIGITS + 1;
+
+    private static final int[] VALUES = new int[128];
+
+    static {
+        Arrays.fill(VALUES, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = i;
+        }
+    }
+
+    private TrackingNumbers() {}
+
+    public static String format(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Tracking number values are non-negative: " + value);
+        }
+        char[] chars = new char[LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = PREFIX.length() + DIGITS - 1; i >= PREFIX.length(); i--) {
+            chars[i] = ALPHABET[(int) (value & (BASE - 1))];
+            value >>>= 5;
+        }
+        chars[LENGTH - 1] = ALPHABET[checkValue(chars)];
+        return new String(chars);
+    }
+
+    /**
+     * @return the value a well-formed tracking number encodes
+     * @throws IllegalArgumentException if it is not in this format or its check character is wrong
+     */
+    public static long parse(String trackingNumber) {
+        if (!isValid(trackingNumber)) {
+            throw new IllegalArgumentException("Invalid tracking number: " + trackingNumber);
+        }
+        long value = 0;
+        for (int i = PREFIX.length(); i < PREFIX.length() + DIGITS; i++) {
+            value = (value << 5) | VALUES[trackingNumber.charAt(i)];
+        }
+        return value;
+    }
+
+    /**
+     * Whether the text has this format and a matching check character. Tracking
+     * numbers issued before this format existed (TRK- and 8 hex characters)
+     * are not valid in this sense, but still identify their shipments.
+     */
+    public static boolean isValid(String trackingNumber) {
+        if (trackingNumber == null || trackingNumber.length() != LENGTH || !trackingNumber.startsWith(PREFIX)) {
+            return false;
+        }
+        char[] chars = trackingNumber.toCharArray();
+        for (int i = PREFIX.length(); i < LENGTH; i++) {
+            if (chars[i] >= VALUES.length || VALUES[chars[i]] < 0) {
+                return false;
+            }
+        }
+        // The 13th digit carries only 3 significant bits: larger values overflow a long
+        if (VALUES[chars[PREFIX.length()]] > 7) {
+            return false;
+        }
+        return VALUES[chars[LENGTH - 1]] == checkValue(chars);
+    }
+
+    // Luhn mod N over the digits, doubling every second one from the right
+    private static int checkValue(char[] chars) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = PREFIX.length() + DIGITS - 1; i >= PREFIX.length(); i--) {
+            int addend = VALUES[chars[i]];
+            if (doubled) {
+                addend *= 2;
+                addend = addend / BASE + addend % BASE;
+            }
+            sum += addend;
+            doubled = !doubled;
+        }
+        return (BASE - sum % BASE) % BASE;
+    }
+}
@@ -0,0 +1,24 @@
+package com.dornach.user.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache settings, one entry per cache region under
+ * entity-cache.regions.
+ */
+@ConfigurationProperties(prefix = "entity-cache")
+public record EntityCacheProperties(boolean enabled, Map<String, Region> regions) {
+
+    /**
+     * @param maxSize entries kept before the least useful ones are evicted
+     * @param ttl     entries expire this long after they were last written
+     */
+    public record Region(
+            @DefaultValue("10000") long maxSize,
+            @DefaultValue("10m") Duration ttl
+    ) {}
+}
@@ -1,10 +1,12 @@
 package com.dornach.user.controller;
 
 import com.dornach.user.dto.CreateUserRequest;
+import com.dornach.user.dto.EntityVersion;
 import com.dornach.user.dto.UserResponse;
 import com.dornach.user.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -14,36 +16,67 @@ import java.util.UUID;
  *
  * TODO (Step 1 - Exercise 3): Implement the following endpoints:
  *
- * | Method | Path         | Description      | Response Code |
- * |--------|--------------|------------------|---------------|
- * | POST   | /users       | Create a user    | 201 Created   |
- * | GET    | /users       | List all users   | 200 OK        |
- * | GET    | /users/{id}  | Get user by ID   | 200 OK / 404  |
- * | PUT    | /users/{id}  | Update user      | 200 OK / 404  |
- * | DELETE | /users/{id}  | Delete user      | 204 No Content|
+ * | Method | Path          | Description      | Response Code  |
+ * |--------|---------------|------------------|----------------|
+ * | POST   | /users        | Create a user    | 201 Created    |
+ * | GET    | /users        | List all users   | 200 OK         |
+ * | GET    | /users/{id}   | Get user by ID   | 200 OK / 404   |
+ * | PUT    | /users/{id}   | Update user      | 200 OK / 404   |
+ * | DELETE | /users/{id}   | Delete user      | 204 No Content |
+ * | POST   | /users/lookup | Get users by IDs | 200 OK         |
  */
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final UserService userService;
 
     public UserController(UserService userService) {
         this.userService = userService;
     }
 
+    /**
+     * List users page by page. The body stays a plain array; when more rows
+     * exist, the token for the next page is returned in the X-Next-Cursor header.
+     */
     @GetMapping
-    public List<UserResponse> getAllUsers() {
-        return userService.getAllUsers().stream()
-                .map(UserResponse::from)
-                .toList();
+    public ResponseEntity<List<UserResponse>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        var page = userService.getUsers(cursor, size);
+        var response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
+    /**
+     * Get a user, with a strong ETag built from its id and updatedAt. When
+     * If-None-Match still matches, only the version is read and 304 is
+     * returned without a body.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable UUID id) {
+    public ResponseEntity<UserResponse> getUserById(@PathVariable UUID id, WebRequest request) {
         // TODO (Step 1): Return 404 if user not found
-        var user = userService.getUserById(id);
-        return ResponseEntity.ok(UserResponse.from(user));
+        if (request.checkNotModified(userService.getUserVersion(id).eTag())) {
+            return null;
+        }
+        var user = userService.getUserResponseById(id);
+        return ResponseEntity.ok()
+                .eTag(new EntityVersion(user.getId(), user.getUpdatedAt()).eTag())
+                .body(user);
+    }
+
+    /**
+     * Bulk lookup: returns the users matching the given ids, in no particular
+     * order. Ids that do not exist are left out rather than failing the call.
+     */
+    @PostMapping("/lookup")
+    public List<UserResponse> lookupUsers(@RequestBody List<UUID> ids) {
+        return userService.getUsersByIds(ids);
     }
 
     @PostMapping
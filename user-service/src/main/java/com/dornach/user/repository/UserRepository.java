@@ -1,16 +1,52 @@
 package com.dornach.user.repository;
 
 import com.dornach.user.domain.User;
+import com.dornach.user.dto.EntityVersion;
+import com.dornach.user.dto.UserResponse;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
 
+    @Timed(histogram = true)
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    // Read-only views: rows are selected straight into UserResponse, so no
+    // entity is instantiated, snapshotted or checked at flush time.
+
+    String SELECT_RESPONSE = """
+            SELECT new com.dornach.user.dto.UserResponse(
+                u.id, u.email, u.firstName, u.lastName, u.role, u.status, u.createdAt, u.updatedAt)
+            FROM User u""";
+
+    @Query(SELECT_RESPONSE + " WHERE u.id = :id")
+    Optional<UserResponse> findResponseById(UUID id);
+
+    @Query("SELECT new com.dornach.user.dto.EntityVersion(u.id, u.updatedAt) FROM User u WHERE u.id = :id")
+    Optional<EntityVersion> findVersionById(UUID id);
+
+    @Query(SELECT_RESPONSE + " WHERE u.id IN :ids")
+    List<UserResponse> findResponsesByIdIn(Collection<UUID> ids);
+
+    // Keyset pagination on (createdAt, id), see UserService#getUsers
+
+    @Query(SELECT_RESPONSE + " ORDER BY u.createdAt, u.id")
+    List<UserResponse> findFirstPage(Limit limit);
+
+    @Query(SELECT_RESPONSE + """
+             WHERE u.createdAt > :createdAt OR (u.createdAt = :createdAt AND u.id > :id)
+            ORDER BY u.createdAt, u.id""")
+    List<UserResponse> findPageAfter(Instant createdAt, UUID id, Limit limit);
 }
@@ -2,9 +2,20 @@ package com.dornach.user.service;
 
 import com.dornach.user.domain.User;
 import com.dornach.user.dto.CreateUserRequest;
+import com.dornach.user.dto.CursorPage;
+import com.dornach.user.dto.EntityVersion;
+import com.dornach.user.dto.PageCursor;
+import com.dornach.user.dto.UserResponse;
 import com.dornach.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,12 +24,63 @@ public class UserService {
 
     private final UserRepository userRepository;
 
+    @Value("${pagination.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${entity-cache.enabled:false}")
+    private boolean entityCacheEnabled;
+
+    @Value("${users.lookup.max-ids:500}")
+    private int maxLookupIds;
+
     public UserService(UserRepository userRepository) {
         this.userRepository = userRepository;
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    /**
+     * List users one page at a time, ordered by (createdAt, id).
+     * Rows are read as DTOs, in a read-only transaction.
+     *
+     * @param cursor token returned with the previous page, or null for the first page
+     * @param size   requested page size, clamped to [1, pagination.max-size]
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getUsers(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, maxPageSize);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<UserResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = userRepository.findFirstPage(limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = userRepository.findPageAfter(after.createdAt(), after.id(), limit);
+        }
+        return CursorPage.of(rows, pageSize, u -> new PageCursor(u.getCreatedAt(), u.getId()));
+    }
+
+    /**
+     * Version of a user, for conditional GETs: a single-column read, or the
+     * cached entity when the second-level cache is enabled.
+     */
+    @Transactional(readOnly = true)
+    public EntityVersion getUserVersion(UUID id) {
+        var version = entityCacheEnabled
+                ? userRepository.findById(id).map(u -> new EntityVersion(u.getId(), u.getUpdatedAt()))
+                : userRepository.findVersionById(id);
+        return version.orElseThrow(() -> new RuntimeException("User not found: " + id));
+    }
+
+    /**
+     * Read-only view of a user, read straight into the response DTO, or
+     * from the second-level cache when it is enabled.
+     */
+    @Transactional(readOnly = true)
+    public UserResponse getUserResponseById(UUID id) {
+        var user = entityCacheEnabled
+                ? userRepository.findById(id).map(UserResponse::from)
+                : userRepository.findResponseById(id);
+        return user.orElseThrow(() -> new RuntimeException("User not found: " + id));
     }
 
     public User getUserById(UUID id) {
@@ -28,6 +90,18 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found: " + id));
     }
 
+    /**
+     * Load many users in one query. Unknown ids are simply absent from the result.
+     */
+    @Transactional(readOnly = true)
+    public List<UserResponse> getUsersByIds(Collection<UUID> ids) {
+        if (ids.size() > maxLookupIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxLookupIds + " ids can be looked up at once");
+        }
+        return userRepository.findResponsesByIdIn(new HashSet<>(ids));
+    }
+
     public User createUser(CreateUserRequest request) {
         // TODO (Step 1 - Exercise 3):
         // 1. Check if email already exists (throw exception if so)